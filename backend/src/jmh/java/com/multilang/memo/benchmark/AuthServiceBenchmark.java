@@ -0,0 +1,50 @@
+package com.multilang.memo.benchmark;
+
+import com.multilang.memo.entity.User;
+import com.multilang.memo.service.AuthService;
+import com.multilang.memo.service.TokenCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * AuthService.authenticate with the token cache hit and with a forced miss (DB lookup).
+ */
+@State(Scope.Benchmark)
+public class AuthServiceBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private AuthService authService;
+    private TokenCache tokenCache;
+    private String token;
+    private String authHeader;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("auth");
+        authService = context.getBean(AuthService.class);
+        tokenCache = context.getBean(TokenCache.class);
+        token = authService.register("bench-user").getToken();
+        authHeader = "Bearer " + token;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public User authenticateCached() {
+        return authService.authenticate(authHeader);
+    }
+
+    @Benchmark
+    public User authenticateUncached() {
+        tokenCache.evict(token);
+        return authService.authenticate(authHeader);
+    }
+}
@@ -0,0 +1,117 @@
+package com.multilang.memo.benchmark;
+
+import com.multilang.memo.MemoApplication;
+import com.multilang.memo.entity.Concept;
+import com.multilang.memo.entity.Word;
+import com.multilang.memo.service.ConceptImportService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Boots the application against an embedded H2 database for the JMH benchmarks and
+ * generates synthetic vocabularies. No MySQL or network access is needed.
+ */
+final class BenchmarkApplication {
+
+    static final int WORDS_PER_CONCEPT = 5;
+    // 100件に1件のConceptのnotesに含まれる検索キーワード
+    static final String RARE_KEYWORD = "asynchrone";
+
+    private static final String[] LANGUAGES = {"English", "Japanese", "French"};
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String databaseName) {
+        return start(databaseName, WebApplicationType.NONE);
+    }
+
+    // start : (String, WebApplicationType, String...) -> ConfigurableApplicationContext
+    // コマンドライン引数はapplication.propertiesより優先されるため、ここでDB接続とログを上書きする
+    static ConfigurableApplicationContext start(String databaseName, WebApplicationType webType, String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:" + databaseName + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.format_sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.hibernate=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.stat=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                "--logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN",
+                "--logging.level.org.springframework=WARN",
+                "--logging.level.com.multilang.memo=WARN"
+        ));
+        args.addAll(List.of(extraArgs));
+        return new SpringApplicationBuilder(MemoApplication.class)
+                .web(webType)
+                .run(args.toArray(String[]::new));
+    }
+
+    // seed : (ConfigurableApplicationContext, String, int) -> void
+    // WORDS_PER_CONCEPT 件ずつWordを持つConceptをconcepts件、一括インポートする
+    static void seed(ConfigurableApplicationContext context, String username, int concepts) {
+        context.getBean(ConceptImportService.class).importConcepts(username, new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < concepts;
+            }
+
+            @Override
+            public Concept next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return concept(next++);
+            }
+        });
+    }
+
+    // concepts : int -> List<Concept>  (DBを使わないシリアライズ計測用)
+    static List<Concept> concepts(int count) {
+        List<Concept> concepts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Concept concept = concept(i);
+            concept.setId((long) i + 1);
+            concept.setUsername("bench-user");
+            long wordId = (long) i * WORDS_PER_CONCEPT;
+            for (Word word : concept.getWords()) {
+                word.setId(++wordId);
+            }
+            concepts.add(concept);
+        }
+        return concepts;
+    }
+
+    private static Concept concept(int i) {
+        Concept concept = new Concept();
+        concept.setName("concept-" + i);
+        concept.setNotes(i % 100 == 0
+                ? "Notes for concept " + i + " — " + RARE_KEYWORD + " / non-blocking"
+                : "Notes for concept " + i + " describing how the idea is used in context");
+        List<Word> words = new ArrayList<>(WORDS_PER_CONCEPT);
+        for (int j = 0; j < WORDS_PER_CONCEPT; j++) {
+            Word word = new Word();
+            word.setWord("word-" + i + "-" + j);
+            word.setLanguage(LANGUAGES[j % LANGUAGES.length]);
+            word.setIpa("/wɜːd " + j + "/");
+            word.setNuance("Nuance " + j + " of concept " + i);
+            words.add(word);
+        }
+        concept.setWords(words);
+        return concept;
+    }
+}
@@ -0,0 +1,73 @@
+package com.multilang.memo.benchmark;
+
+import com.multilang.memo.dto.ConceptView;
+import com.multilang.memo.service.ConceptReadService;
+import com.multilang.memo.service.ConceptService;
+import com.multilang.memo.service.DataVersionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+
+/**
+ * Concept read paths behind the GET /api/concepts endpoints (ConceptReadService, record
+ * projections and the search backend) against H2 with a generated vocabulary of {@code words} words.
+ */
+@State(Scope.Benchmark)
+public class ConceptServiceBenchmark {
+
+    private static final String USERNAME = "bench-user";
+
+    @Param({"1000", "100000", "1000000"})
+    public int words;
+
+    private ConfigurableApplicationContext context;
+    private ConceptReadService conceptReadService;
+    private Long firstConceptId;
+    private long version;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("concepts" + words);
+        // Concept数は words から求める（-PjmhWords で words だけを変えられるように）
+        int concepts = Math.max(1, words / BenchmarkApplication.WORDS_PER_CONCEPT);
+        BenchmarkApplication.seed(context, USERNAME, concepts);
+        conceptReadService = context.getBean(ConceptReadService.class);
+        firstConceptId = context.getBean(ConceptService.class).getConceptPage(USERNAME, 1, null).getItems().get(0).getId();
+        // ConceptControllerと同じく、データ版数を渡す呼び出しを計測する
+        version = context.getBean(DataVersionService.class).currentVersion(USERNAME);
+        // 検索インデックスの初回構築は計測対象外にする
+        conceptReadService.searchConcepts(USERNAME, BenchmarkApplication.RARE_KEYWORD);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ConceptView> getAllConcepts() {
+        return conceptReadService.getAllConcepts(USERNAME, null, version);
+    }
+
+    @Benchmark
+    public List<ConceptView> getAllConceptsWithQuery() {
+        return conceptReadService.getAllConcepts(USERNAME, BenchmarkApplication.RARE_KEYWORD, version);
+    }
+
+    @Benchmark
+    public List<ConceptView> searchConcepts() {
+        return conceptReadService.searchConcepts(USERNAME, BenchmarkApplication.RARE_KEYWORD);
+    }
+
+    @Benchmark
+    public ConceptView getConceptById() {
+        return conceptReadService.getConceptById(firstConceptId, USERNAME, version);
+    }
+}
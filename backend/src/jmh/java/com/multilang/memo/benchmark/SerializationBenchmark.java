@@ -0,0 +1,80 @@
+package com.multilang.memo.benchmark;
+
+import com.multilang.memo.entity.Concept;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Jackson serialization of Concept/Word graphs as returned by GET /api/concepts, per wire
+ * format (Accept) and content coding (Accept-Encoding). The score is the serialization
+ * (and compression) CPU; the bytes on the wire are reported next to it as "wireBytes".
+ */
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({"200", "20000", "200000"})
+    public int concepts;
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    // identity: 圧縮なし / gzip: server.compression と同じDeflaterの既定レベル
+    @Param({"identity", "gzip"})
+    public String encoding;
+
+    /**
+     * Size of one serialized response, reported as a secondary result.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class WireSize {
+        // 毎回同じサイズなので足し込まずに最後の値を残す
+        public long wireBytes;
+    }
+
+    private ObjectMapper objectMapper;
+    private List<Concept> payload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = switch (format) {
+            case "cbor" -> CBORMapper.builder().build();
+            case "smile" -> SmileMapper.builder().build();
+            default -> JsonMapper.builder().build();
+        };
+        payload = BenchmarkApplication.concepts(concepts);
+    }
+
+    @Benchmark
+    public byte[] serializeConceptList(WireSize size) {
+        byte[] body = objectMapper.writeValueAsBytes(payload);
+        byte[] wire = "gzip".equals(encoding) ? gzip(body) : body;
+        size.wireBytes = wire.length;
+        return wire;
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,94 @@
+package com.multilang.memo.benchmark;
+
+import com.multilang.memo.service.AuthService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Load test over real HTTP: each invocation fires {@code concurrency} simultaneous
+ * GET /api/concepts/page requests and waits for all of them. Compares Tomcat's platform
+ * thread pool with virtual threads; both run behind the same DB concurrency gate.
+ */
+@State(Scope.Benchmark)
+public class ThreadModelLoadBenchmark {
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    @Param({"200", "2000"})
+    public int concurrency;
+
+    private ConfigurableApplicationContext context;
+    private ExecutorService clientExecutor;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Responses {
+        public long ok;
+        public long rejected;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("threads", WebApplicationType.SERVLET,
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--server.tomcat.max-connections=" + (concurrency * 2),
+                "--server.tomcat.accept-count=" + concurrency);
+        BenchmarkApplication.seed(context, "bench-user", 10_000 / BenchmarkApplication.WORDS_PER_CONCEPT);
+        String token = context.getBean(AuthService.class).register("bench-user").getToken();
+        int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+
+        clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientExecutor)
+                .build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/concepts/page?limit=20"))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        clientExecutor.shutdownNow();
+        context.close();
+    }
+
+    @Benchmark
+    public void burst(Responses responses) {
+        List<CompletableFuture<HttpResponse<Void>>> inFlight = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            inFlight.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+        }
+        for (CompletableFuture<HttpResponse<Void>> future : inFlight) {
+            // 503はDBゲートによる早期拒否
+            if (future.join().statusCode() == 200) {
+                responses.ok++;
+            } else {
+                responses.rejected++;
+            }
+        }
+    }
+}
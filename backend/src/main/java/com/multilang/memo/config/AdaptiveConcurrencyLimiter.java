@@ -0,0 +1,98 @@
+package com.multilang.memo.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Global concurrency limit that adapts to observed latency (gradient limiter). By Little's
+ * law the concurrency a server sustains without queueing is throughput × no-load latency;
+ * the limiter estimates that by comparing a long-term latency average with the recent one.
+ * While recent latency stays near the long-term average the limit grows by about
+ * sqrt(limit) per sample; when requests start queueing (recent latency rises) the limit is
+ * multiplied by long/recent (at most halved per sample) until latency recovers.
+ * The state is replaced with a CAS like TokenBucket, so callers never block each other.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double LONG_WINDOW = 500;
+    private static final double SHORT_WINDOW = 10;
+
+    private record State(double limit, double longRtt, double shortRtt) {
+    }
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double rttTolerance;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicReference<State> state;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      double smoothing, double rttTolerance) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.rttTolerance = rttTolerance;
+        this.state = new AtomicReference<>(new State(initialLimit, 0, 0));
+    }
+
+    // tryAcquire : () -> boolean  (trueならrelease/onSampleを必ず呼ぶ)
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // release : () -> void  (レイテンシを記録しない終了。例外や非同期処理への引き渡し)
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    // onSample : long -> void  (完了したリクエストの処理時間で上限を更新してから解放する)
+    public void onSample(long rttNanos) {
+        // 上限の半分も使っていない間は、速くても上限を伸ばさない（負荷が無いだけの可能性がある）
+        boolean saturated = inFlight.get() * 2 >= limit();
+        while (true) {
+            State current = state.get();
+            State next = update(current, rttNanos, saturated);
+            if (state.compareAndSet(current, next)) {
+                break;
+            }
+        }
+        inFlight.decrementAndGet();
+    }
+
+    private State update(State current, double rtt, boolean saturated) {
+        if (current.longRtt() == 0) {
+            return new State(current.limit(), rtt, rtt);
+        }
+        double shortRtt = current.shortRtt() + (rtt - current.shortRtt()) / SHORT_WINDOW;
+        double longRtt = current.longRtt() + (rtt - current.longRtt()) / LONG_WINDOW;
+        // 長期平均が直近の2倍以上遅い（負荷が引いた）なら、長期平均を早く追従させる
+        if (longRtt > shortRtt * 2) {
+            longRtt *= 0.95;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRtt / shortRtt));
+        double target = current.limit() * gradient + Math.sqrt(current.limit());
+        if (!saturated && target > current.limit()) {
+            target = current.limit();
+        }
+        double limit = current.limit() * (1 - smoothing) + target * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, limit));
+        return new State(limit, longRtt, shortRtt);
+    }
+
+    public int limit() {
+        return (int) state.get().limit();
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+}
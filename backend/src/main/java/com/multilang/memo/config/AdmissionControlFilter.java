@@ -0,0 +1,54 @@
+package com.multilang.memo.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Sheds /api requests with 429 once AdaptiveConcurrencyLimiter's global limit of in-flight
+ * requests is reached, so an overload queues at the door instead of in the DB pool.
+ * Runs after RateLimitFilter and before authentication.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final Counter rejected;
+
+    public AdmissionControlFilter(AdaptiveConcurrencyLimiter limiter, MeterRegistry meterRegistry) {
+        this.limiter = limiter;
+        this.rejected = meterRegistry.counter("memo.admission.rejected", "reason", "concurrency", "key", "global");
+        Gauge.builder("memo.admission.limit", limiter, AdaptiveConcurrencyLimiter::limit).register(meterRegistry);
+        Gauge.builder("memo.admission.inflight", limiter, AdaptiveConcurrencyLimiter::inFlight).register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (!limiter.tryAcquire()) {
+            rejected.increment();
+            RateLimitFilter.writeTooManyRequests(response, 1);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean sampled = false;
+        try {
+            filterChain.doFilter(request, response);
+            // SSE・ストリーミング応答は開始までの時間しか測れないため、上限の計算に使わない
+            if (!request.isAsyncStarted()) {
+                limiter.onSample(System.nanoTime() - start);
+                sampled = true;
+            }
+        } finally {
+            if (!sampled) {
+                limiter.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.multilang.memo.config;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Immutable consistent-hash ring of shard names with virtualNodes points per shard.
+ * Adding or removing one of N shards changes the shard of about 1/N of the keys.
+ */
+public final class ConsistentHashRing {
+
+    private final List<String> shards;
+    private final NavigableMap<Long, String> points = new TreeMap<>();
+
+    public ConsistentHashRing(Collection<String> shards, int virtualNodes) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("A ring needs at least one shard");
+        }
+        this.shards = List.copyOf(shards);
+        for (String shard : this.shards) {
+            for (int i = 0; i < virtualNodes; i++) {
+                points.put(hash(shard + "#" + i), shard);
+            }
+        }
+    }
+
+    // shardFor : String -> String  (時計回りで最初の点のシャード)
+    public String shardFor(String key) {
+        Map.Entry<Long, String> point = points.ceilingEntry(hash(key));
+        return point != null ? point.getValue() : points.firstEntry().getValue();
+    }
+
+    public List<String> shards() {
+        return shards;
+    }
+
+    // hash : String -> long  (FNV-1a 64bit + MurmurHash3のfmix64で下位ビットまで拡散させる)
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -19,6 +19,11 @@ public class DataInitializer implements CommandLineRunner {
 
     @Override
     public void run(String... args) {
+        // シャーディング時はdemo-userのシャードに作成する
+        RoutingContext.runAs("demo-user", this::seed);
+    }
+
+    private void seed() {
         if (!conceptRepository.findAllWithWordsEagerly("demo-user").isEmpty()) {
             return;
         }
@@ -0,0 +1,64 @@
+package com.multilang.memo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * DB concurrency gate (db.concurrency.*). The limit applies per connection pool: the single
+ * spring.datasource pool is wrapped here, while ReadReplicaConfig and ShardingConfig wrap each
+ * of their pools (primary, every replica, every shard) with {@link Limits#limit}, so adding a
+ * replica or a shard adds its own max-concurrent permits instead of sharing one gate.
+ */
+@Configuration
+public class DatabaseConcurrencyConfig {
+
+    /**
+     * db.concurrency.* settings shared by every pool.
+     */
+    public record Limits(boolean enabled, int maxConcurrent, int maxWaiting, Duration acquireTimeout) {
+
+        // 既定ではHikariのプールサイズと同じ数だけ同時に接続を貸し出す
+        static Limits from(Environment environment) {
+            int poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+            return new Limits(
+                    environment.getProperty("db.concurrency.enabled", Boolean.class, true),
+                    environment.getProperty("db.concurrency.max-concurrent", Integer.class, poolSize),
+                    environment.getProperty("db.concurrency.max-waiting", Integer.class, 1000),
+                    environment.getProperty("db.concurrency.acquire-timeout", Duration.class, Duration.ofSeconds(5)));
+        }
+
+        // limit : DataSource -> DataSource  (無効ならプールをそのまま返す)
+        public DataSource limit(DataSource pool) {
+            if (!enabled || pool instanceof ConcurrencyLimitedDataSource) {
+                return pool;
+            }
+            return new ConcurrencyLimitedDataSource(pool, maxConcurrent, maxWaiting, acquireTimeout);
+        }
+    }
+
+    @Bean
+    public Limits databaseConcurrencyLimits(Environment environment) {
+        return Limits.from(environment);
+    }
+
+    // 接続プールのBeanだけを包む（レプリカ・シャードのルーティング用DataSourceはプールごとに包んである）
+    @Bean
+    public static BeanPostProcessor concurrencyLimitedDataSourcePostProcessor(Environment environment) {
+        Limits limits = Limits.from(environment);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource pool) {
+                    return limits.limit(pool);
+                }
+                return bean;
+            }
+        };
+    }
+}
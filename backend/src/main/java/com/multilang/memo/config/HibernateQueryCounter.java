@@ -0,0 +1,39 @@
+package com.multilang.memo.config;
+
+import jakarta.persistence.PostLoad;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Per-thread counters of SQL statements and entities loaded while handling one request.
+ * Hibernate instantiates it as the session factory's StatementInspector
+ * (hibernate.session_factory.statement_inspector) and JPA as an entity listener for @PostLoad.
+ */
+public class HibernateQueryCounter implements StatementInspector {
+
+    private static final ThreadLocal<long[]> COUNTS = ThreadLocal.withInitial(() -> new long[2]);
+
+    public static void reset() {
+        long[] counts = COUNTS.get();
+        counts[0] = 0;
+        counts[1] = 0;
+    }
+
+    public static long statements() {
+        return COUNTS.get()[0];
+    }
+
+    public static long entitiesLoaded() {
+        return COUNTS.get()[1];
+    }
+
+    @Override
+    public String inspect(String sql) {
+        COUNTS.get()[0]++;
+        return sql;
+    }
+
+    @PostLoad
+    public void onPostLoad(Object entity) {
+        COUNTS.get()[1]++;
+    }
+}
@@ -0,0 +1,49 @@
+package com.multilang.memo.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records memo.request.sql.statements and memo.request.entities.loaded per route so that
+ * N+1 patterns show up as a high statements-per-request distribution on one uri.
+ */
+public class QueryMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+
+    public QueryMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        HibernateQueryCounter.reset();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            // http.server.requests と同じく、パスではなくルートのパターンでタグ付けする
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            Tags tags = Tags.of(
+                    "method", request.getMethod(),
+                    "uri", pattern != null ? pattern.toString() : "UNKNOWN");
+            DistributionSummary.builder("memo.request.sql.statements")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .record(HibernateQueryCounter.statements());
+            DistributionSummary.builder("memo.request.entities.loaded")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .record(HibernateQueryCounter.entitiesLoaded());
+        }
+    }
+}
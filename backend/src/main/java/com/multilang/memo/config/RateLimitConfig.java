@@ -0,0 +1,49 @@
+package com.multilang.memo.config;
+
+import com.multilang.memo.service.TokenCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class RateLimitConfig {
+
+    // レート制限 → 同時実行数の制限の順に、他のフィルタ（認証・メトリクス）より前で弾く
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(
+            @Value("${ratelimit.public.capacity:20}") double publicCapacity,
+            @Value("${ratelimit.public.refill-per-second:5}") double publicRefillPerSecond,
+            @Value("${ratelimit.token.capacity:60}") double tokenCapacity,
+            @Value("${ratelimit.token.refill-per-second:20}") double tokenRefillPerSecond,
+            TokenCache tokenCache, MeterRegistry meterRegistry) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(new RateLimitFilter(
+                new RateLimitFilter.Limit(publicCapacity, publicRefillPerSecond),
+                new RateLimitFilter.Limit(tokenCapacity, tokenRefillPerSecond),
+                tokenCache, meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "admission.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(
+            @Value("${admission.initial-limit:20}") int initialLimit,
+            @Value("${admission.min-limit:5}") int minLimit,
+            @Value("${admission.max-limit:200}") int maxLimit,
+            @Value("${admission.smoothing:0.2}") double smoothing,
+            @Value("${admission.rtt-tolerance:1.5}") double rttTolerance,
+            MeterRegistry meterRegistry) {
+        AdaptiveConcurrencyLimiter limiter =
+                new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, smoothing, rttTolerance);
+        FilterRegistrationBean<AdmissionControlFilter> registration =
+                new FilterRegistrationBean<>(new AdmissionControlFilter(limiter, meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+}
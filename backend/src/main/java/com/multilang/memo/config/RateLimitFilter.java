@@ -0,0 +1,104 @@
+package com.multilang.memo.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.multilang.memo.service.TokenCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Token bucket admission control for /api. Unauthenticated endpoints (/api/public,
+ * /api/auth/register) are limited per IP; everything else per bearer token. A token that
+ * is not in TokenCache (never authenticated, or not recently) is limited per IP as well,
+ * so rotating made-up tokens does not buy fresh buckets. Rejected requests get 429 before
+ * any controller, AuthService or repository code runs.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    /**
+     * Bucket size and refill rate of one client.
+     */
+    public record Limit(double capacity, double refillPerSecond) {
+    }
+
+    private final Cache<String, TokenBucket> buckets;
+    private final Limit publicLimit;
+    private final Limit tokenLimit;
+    private final TokenCache tokenCache;
+    private final Counter rejectedPublic;
+    private final Counter rejectedToken;
+
+    public RateLimitFilter(Limit publicLimit, Limit tokenLimit, TokenCache tokenCache, MeterRegistry meterRegistry) {
+        this.publicLimit = publicLimit;
+        this.tokenLimit = tokenLimit;
+        this.tokenCache = tokenCache;
+        // 一定時間アクセスのないクライアントのバケットは破棄する（満タンに戻るのと同じ）
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+        this.rejectedPublic = meterRegistry.counter("memo.admission.rejected", "reason", "rate-limit", "key", "ip");
+        this.rejectedToken = meterRegistry.counter("memo.admission.rejected", "reason", "rate-limit", "key", "token");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        boolean unauthenticated = isUnauthenticated(request);
+        Limit limit = unauthenticated ? publicLimit : tokenLimit;
+        TokenBucket bucket = buckets.get(key(request, unauthenticated),
+                key -> new TokenBucket(limit.capacity(), limit.refillPerSecond()));
+        if (bucket.tryConsume()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        (unauthenticated ? rejectedPublic : rejectedToken).increment();
+        writeTooManyRequests(response, bucket.secondsUntilAvailable());
+    }
+
+    private static boolean isUnauthenticated(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return path.startsWith("/api/public/") || path.equals("/api/auth/register");
+    }
+
+    // key : 公開APIはIP、それ以外は既知のトークン（未知ならIP）。バケットの容量が異なるため接頭辞で分ける
+    private String key(HttpServletRequest request, boolean unauthenticated) {
+        if (unauthenticated) {
+            return "public:" + request.getRemoteAddr();
+        }
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith("Bearer ")) {
+            String token = header.substring(7);
+            if (tokenCache.contains(token)) {
+                return "token:" + token;
+            }
+        }
+        return "client:" + request.getRemoteAddr();
+    }
+
+    // GlobalExceptionHandler.buildResponse と同じ形のJSONを返す
+    static void writeTooManyRequests(HttpServletResponse response, long retryAfterSeconds) throws IOException {
+        HttpStatus status = HttpStatus.TOO_MANY_REQUESTS;
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, retryAfterSeconds)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("{\"status\":" + status.value()
+                + ",\"error\":\"" + status.getReasonPhrase()
+                + "\",\"message\":\"Too many requests, please retry later\""
+                + ",\"timestamp\":\"" + LocalDateTime.now() + "\"}");
+    }
+}
@@ -0,0 +1,83 @@
+package com.multilang.memo.config;
+
+import com.multilang.memo.service.ReadYourWritesTracker;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read/write splitting (db.replicas.enabled=true). The application DataSource is a
+ * LazyConnectionDataSourceProxy: a transaction marked read-only (@Transactional(readOnly = true))
+ * gets its connection from ReplicaRoutingDataSource, everything else from the primary pool
+ * configured by spring.datasource.*. Replicas share the primary's driver and credentials
+ * unless db.replicas.username / db.replicas.password are set. Each pool gets its own
+ * db.concurrency gate (DatabaseConcurrencyConfig.Limits).
+ */
+@Configuration
+@ConditionalOnProperty(name = "db.replicas.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean(destroyMethod = "close")
+    public Pools replicaPools(DataSourceProperties properties, Environment environment) {
+        List<String> urls = List.of(environment.getProperty("db.replicas.urls", String[].class, new String[0]));
+        if (urls.isEmpty()) {
+            throw new IllegalStateException("db.replicas.urls must list at least one replica when db.replicas.enabled=true");
+        }
+        int poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+        String username = environment.getProperty("db.replicas.username", properties.determineUsername());
+        String password = environment.getProperty("db.replicas.password", properties.determinePassword());
+
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        primary.setMaximumPoolSize(poolSize);
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(properties.determineDriverClassName())
+                    .url(urls.get(i).trim())
+                    .username(username)
+                    .password(password)
+                    .build();
+            replica.setPoolName("replica-" + i);
+            replica.setMaximumPoolSize(poolSize);
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+        return new Pools(primary, replicas);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(Pools pools, DatabaseConcurrencyConfig.Limits limits,
+                                 ReadYourWritesTracker tracker, MeterRegistry meterRegistry) {
+        // レプリカへのフォールバックもプライマリと同じゲートを通す
+        DataSource primary = limits.limit(pools.primary());
+        List<DataSource> replicas = pools.replicas().stream().map(limits::limit).toList();
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(new ReplicaRoutingDataSource(primary, replicas, tracker, meterRegistry));
+        return dataSource;
+    }
+
+    /**
+     * Connection pools owned by this configuration.
+     */
+    public record Pools(HikariDataSource primary, List<HikariDataSource> replicas) implements AutoCloseable {
+        @Override
+        public void close() {
+            replicas.forEach(HikariDataSource::close);
+            primary.close();
+        }
+    }
+}
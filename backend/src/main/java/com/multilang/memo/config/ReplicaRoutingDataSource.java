@@ -0,0 +1,100 @@
+package com.multilang.memo.config;
+
+import com.multilang.memo.service.ReadYourWritesTracker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Read-only side of the read/write split: picks a replica round-robin for every read-only
+ * transaction. A user who committed a mutation within db.replicas.max-lag is read from the
+ * replica only when that replica's users.data_version has reached the version of the
+ * mutation (one indexed lookup on the borrowed connection); otherwise, and when the replica
+ * is unreachable, the read goes to the primary.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final String DATA_VERSION =
+            "SELECT data_version FROM users WHERE username = ?";
+
+    private final DataSource primary;
+    private final int replicaCount;
+    private final ReadYourWritesTracker tracker;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter replicaReads;
+    private final Counter stickyReads;
+    private final Counter fallbackReads;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<? extends DataSource> replicas,
+                                    ReadYourWritesTracker tracker, MeterRegistry meterRegistry) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("At least one replica is required");
+        }
+        this.primary = primary;
+        this.replicaCount = replicas.size();
+        this.tracker = tracker;
+        Map<Object, Object> targets = new HashMap<>();
+        for (int i = 0; i < replicas.size(); i++) {
+            targets.put(i, replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setLenientFallback(false);
+        afterPropertiesSet();
+        this.replicaReads = meterRegistry.counter("memo.db.reads", "target", "replica");
+        this.stickyReads = meterRegistry.counter("memo.db.reads", "target", "primary", "reason", "replica-behind");
+        this.fallbackReads = meterRegistry.counter("memo.db.reads", "target", "primary", "reason", "replica-unavailable");
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return Math.floorMod(next.getAndIncrement(), replicaCount);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection connection;
+        try {
+            connection = determineTargetDataSource().getConnection();
+        } catch (SQLException e) {
+            logger.warn("Replica unavailable, reading from primary: " + e.getMessage());
+            fallbackReads.increment();
+            return primary.getConnection();
+        }
+        String username = RoutingContext.currentUser();
+        Long pending = username == null ? null : tracker.pendingVersion(username);
+        if (pending != null && !caughtUp(connection, username, pending)) {
+            connection.close();
+            stickyReads.increment();
+            return primary.getConnection();
+        }
+        replicaReads.increment();
+        return connection;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new UnsupportedOperationException("Replica connections use the pool credentials");
+    }
+
+    private boolean caughtUp(Connection connection, String username, long version) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(DATA_VERSION)) {
+            statement.setString(1, username);
+            try (ResultSet rows = statement.executeQuery()) {
+                return rows.next() && rows.getLong(1) >= version;
+            }
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+    }
+}
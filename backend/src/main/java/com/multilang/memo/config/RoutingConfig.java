@@ -0,0 +1,18 @@
+package com.multilang.memo.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RoutingConfig {
+
+    // AuthService.authenticateで記録したユーザー（シャード・レプリカの振り分けキー）をリクエスト終了時に消す
+    @Bean
+    public FilterRegistrationBean<RoutingContextFilter> routingContextFilter(ShardLocator shardLocator) {
+        FilterRegistrationBean<RoutingContextFilter> registration =
+                new FilterRegistrationBean<>(new RoutingContextFilter(shardLocator));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
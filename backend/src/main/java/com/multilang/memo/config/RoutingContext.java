@@ -0,0 +1,73 @@
+package com.multilang.memo.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-thread routing keys read by ShardRoutingDataSource and ReplicaRoutingDataSource:
+ * the user the current request belongs to (bound by AuthService once the token is
+ * verified, cleared by RoutingContextFilter) and an explicit shard for work that is not
+ * scoped to the bound user, such as token lookups and the token epoch.
+ */
+public final class RoutingContext {
+
+    private static final ThreadLocal<String> USER = new ThreadLocal<>();
+    private static final ThreadLocal<String> SHARD = new ThreadLocal<>();
+
+    private RoutingContext() {
+    }
+
+    public static void bindUser(String username) {
+        USER.set(username);
+    }
+
+    public static String currentUser() {
+        return USER.get();
+    }
+
+    public static String shardOverride() {
+        return SHARD.get();
+    }
+
+    public static void clear() {
+        USER.remove();
+        SHARD.remove();
+    }
+
+    // callAs : (String, Supplier<T>) -> T
+    // リクエスト外（起動時の読み込み、ストリーミング応答のスレッドなど）でユーザーのシャードを使う
+    public static <T> T callAs(String username, Supplier<T> work) {
+        String previous = USER.get();
+        USER.set(username);
+        try {
+            return work.get();
+        } finally {
+            restore(USER, previous);
+        }
+    }
+
+    public static void runAs(String username, Runnable work) {
+        callAs(username, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    // callOnShard : (String, Supplier<T>) -> T  (バインド中のユーザーより優先される)
+    public static <T> T callOnShard(String shard, Supplier<T> work) {
+        String previous = SHARD.get();
+        SHARD.set(shard);
+        try {
+            return work.get();
+        } finally {
+            restore(SHARD, previous);
+        }
+    }
+
+    private static void restore(ThreadLocal<String> local, String previous) {
+        if (previous == null) {
+            local.remove();
+        } else {
+            local.set(previous);
+        }
+    }
+}
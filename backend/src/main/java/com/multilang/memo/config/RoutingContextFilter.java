@@ -0,0 +1,36 @@
+package com.multilang.memo.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Clears the RoutingContext bound during the request and releases the user's in-flight
+ * slot that ShardLocator uses to pause a user while their data is moved to another shard.
+ */
+public class RoutingContextFilter extends OncePerRequestFilter {
+
+    private final ShardLocator shardLocator;
+
+    public RoutingContextFilter(ShardLocator shardLocator) {
+        this.shardLocator = shardLocator;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            String username = RoutingContext.currentUser();
+            RoutingContext.clear();
+            if (username != null) {
+                shardLocator.release(username);
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.multilang.memo.config;
+
+import com.multilang.memo.service.ShardRebalanceService;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Operator endpoint for ShardRebalanceService (actuator id "shards"; not in the default web
+ * exposure, add it to management.endpoints.web.exposure.include or use JMX).
+ * GET shards → ring and users per shard, POST shards/{username} {"shard": "shard-1"} → move
+ * one user, POST shards {"ring": "shard-0,shard-1,shard-2"} → rebalance onto a new ring.
+ */
+@Component
+@Endpoint(id = "shards")
+@ConditionalOnProperty(name = "db.shards.enabled", havingValue = "true")
+public class ShardEndpoint {
+
+    private final ShardRebalanceService rebalanceService;
+
+    public ShardEndpoint(ShardRebalanceService rebalanceService) {
+        this.rebalanceService = rebalanceService;
+    }
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        return rebalanceService.status();
+    }
+
+    @WriteOperation
+    public ShardRebalanceService.Move move(@Selector String username, String shard) {
+        return rebalanceService.moveUser(username, shard);
+    }
+
+    @WriteOperation
+    public List<ShardRebalanceService.Move> rebalance(String ring) {
+        return rebalanceService.rebalance(List.of(ring.split("\\s*,\\s*")));
+    }
+}
@@ -0,0 +1,178 @@
+package com.multilang.memo.config;
+
+import com.multilang.memo.exception.DatabaseBusyException;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * username → shard directory (db.shards.enabled). A user lives on the shard the consistent-hash
+ * ring assigns, unless an explicit assignment (written by ShardRebalanceService when a user is
+ * moved) says otherwise. Work that is not bound to a user (token lookups, the token epoch,
+ * start-up tasks) runs on {@link #DEFAULT_SHARD}. With sharding disabled every key maps to
+ * DEFAULT_SHARD and nothing is routed.
+ * Also gates requests per user: while a user's data is being moved, their requests are
+ * rejected with DatabaseBusyException (503) and the move waits for in-flight ones to finish.
+ */
+@Component
+public class ShardLocator {
+
+    public static final String DEFAULT_SHARD = "shard-0";
+
+    private final boolean enabled;
+    private final List<String> shards;
+    private final int virtualNodes;
+    private volatile ConsistentHashRing ring;
+    private final ConcurrentMap<String, String> assignments = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+    private final Set<String> moving = ConcurrentHashMap.newKeySet();
+
+    public ShardLocator(Environment environment) {
+        this.enabled = environment.getProperty("db.shards.enabled", Boolean.class, false);
+        this.virtualNodes = environment.getProperty("db.shards.virtual-nodes", Integer.class, 128);
+        int count = enabled ? environment.getProperty("db.shards.urls", String[].class, new String[0]).length : 1;
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < Math.max(count, 1); i++) {
+            names.add("shard-" + i);
+        }
+        this.shards = List.copyOf(names);
+        String[] members = environment.getProperty("db.shards.ring", String[].class);
+        this.ring = ring(members == null ? shards : List.of(members));
+    }
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    // shards : () -> List<String>  (設定された全シャード。リングに含まれないものも含む)
+    public List<String> shards() {
+        return shards;
+    }
+
+    public ConsistentHashRing ring() {
+        return ring;
+    }
+
+    public ConsistentHashRing ring(List<String> members) {
+        for (String member : members) {
+            if (!shards.contains(member)) {
+                throw new IllegalArgumentException("Unknown shard: " + member);
+            }
+        }
+        return new ConsistentHashRing(members, virtualNodes);
+    }
+
+    // shardFor : String -> String
+    public String shardFor(String username) {
+        if (!enabled) {
+            return DEFAULT_SHARD;
+        }
+        String assigned = assignments.get(username);
+        return assigned != null ? assigned : ring.shardFor(username);
+    }
+
+    // currentShard : () -> String  (ShardRoutingDataSourceの振り分け先)
+    public String currentShard() {
+        String shard = RoutingContext.shardOverride();
+        if (shard != null) {
+            return shard;
+        }
+        String username = RoutingContext.currentUser();
+        return username != null ? shardFor(username) : DEFAULT_SHARD;
+    }
+
+    // findOnAnyShard : Supplier<Optional<T>> -> Optional<T>
+    // トークンなどユーザー名が分からないキーで引く場合に全シャードを順に探す
+    public <T> Optional<T> findOnAnyShard(Supplier<Optional<T>> finder) {
+        if (!enabled) {
+            return finder.get();
+        }
+        for (String shard : shards) {
+            Optional<T> found = RoutingContext.callOnShard(shard, finder);
+            if (found.isPresent()) {
+                return found;
+            }
+        }
+        return Optional.empty();
+    }
+
+    // bind : String -> void
+    // 認証済みリクエストのユーザーを記録する。移動中のユーザーは503で再試行させる
+    public void bind(String username) {
+        String bound = RoutingContext.currentUser();
+        if (username.equals(bound)) {
+            return;
+        }
+        if (bound != null) {
+            release(bound);
+        }
+        if (enabled) {
+            // 先に数えてから確認するので、beginMoveと同時でもどちらかが必ず相手に気付く
+            AtomicInteger count = inFlight.computeIfAbsent(username, u -> new AtomicInteger());
+            count.incrementAndGet();
+            if (moving.contains(username)) {
+                count.decrementAndGet();
+                throw new DatabaseBusyException("User data is being moved to another shard, retry shortly");
+            }
+        }
+        RoutingContext.bindUser(username);
+    }
+
+    public void release(String username) {
+        AtomicInteger count = inFlight.get(username);
+        if (count != null) {
+            count.decrementAndGet();
+        }
+    }
+
+    // beginMove : (String, Duration) -> void  (新しいリクエストを止め、処理中のリクエストの終了を待つ)
+    public void beginMove(String username, Duration timeout) {
+        if (!moving.add(username)) {
+            throw new IllegalStateException("User is already being moved: " + username);
+        }
+        long deadline = System.nanoTime() + timeout.toNanos();
+        AtomicInteger count = inFlight.computeIfAbsent(username, u -> new AtomicInteger());
+        while (count.get() > 0) {
+            if (System.nanoTime() > deadline) {
+                moving.remove(username);
+                throw new IllegalStateException("Requests of " + username + " did not finish within " + timeout);
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                moving.remove(username);
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for requests of " + username, e);
+            }
+        }
+    }
+
+    public void endMove(String username) {
+        moving.remove(username);
+    }
+
+    public void assign(String username, String shard) {
+        if (shard == null || shard.equals(ring.shardFor(username))) {
+            assignments.remove(username);
+        } else {
+            assignments.put(username, shard);
+        }
+    }
+
+    // 永続化された割り当てとリングで置き換える（起動時と定期的な再読み込み）
+    public void reset(ConsistentHashRing ring, Map<String, String> assignments) {
+        this.ring = ring;
+        this.assignments.keySet().retainAll(assignments.keySet());
+        this.assignments.putAll(assignments);
+    }
+}
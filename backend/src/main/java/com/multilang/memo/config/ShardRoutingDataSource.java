@@ -0,0 +1,31 @@
+package com.multilang.memo.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Application DataSource when db.shards.enabled: every connection is borrowed from the pool
+ * of the shard ShardLocator resolves for the current thread (the bound user's shard, an
+ * explicit RoutingContext.callOnShard shard, or ShardLocator.DEFAULT_SHARD).
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final ShardLocator shardLocator;
+
+    public ShardRoutingDataSource(Map<String, ? extends DataSource> shards, ShardLocator shardLocator) {
+        this.shardLocator = shardLocator;
+        setTargetDataSources(new HashMap<>(shards));
+        setDefaultTargetDataSource(shards.get(ShardLocator.DEFAULT_SHARD));
+        // 未知のシャード名で既定のシャードへ黙って書き込まないようにする
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return shardLocator.currentShard();
+    }
+}
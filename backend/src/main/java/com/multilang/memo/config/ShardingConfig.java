@@ -0,0 +1,79 @@
+package com.multilang.memo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Username sharding (db.shards.enabled=true). db.shards.urls lists every shard database in
+ * order (shard-0, shard-1, ...); they share spring.datasource's driver and credentials unless
+ * db.shards.username / db.shards.password are set. shard-0 also holds the tables that are not
+ * per user (token_epoch, shard_assignment, shard_ring).
+ * Every shard must be provisioned with the schema, and the identity columns must not overlap
+ * across shards (e.g. MySQL auto_increment_increment = number of shards and
+ * auto_increment_offset = shard number + 1) so that a user can be moved with their ids and the
+ * Hibernate second-level cache stays keyed by id.
+ * Each shard's pool gets its own db.concurrency gate (DatabaseConcurrencyConfig.Limits).
+ * Not combinable with db.replicas.enabled.
+ */
+@Configuration
+@ConditionalOnProperty(name = "db.shards.enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Bean(destroyMethod = "close")
+    public ShardPools shardPools(DataSourceProperties properties, Environment environment, ShardLocator shardLocator) {
+        if (environment.getProperty("db.replicas.enabled", Boolean.class, false)) {
+            throw new IllegalStateException("db.shards.enabled and db.replicas.enabled cannot be used together");
+        }
+        List<String> urls = List.of(environment.getProperty("db.shards.urls", String[].class, new String[0]));
+        if (urls.isEmpty()) {
+            throw new IllegalStateException("db.shards.urls must list at least one database when db.shards.enabled=true");
+        }
+        int poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+        String username = environment.getProperty("db.shards.username", properties.determineUsername());
+        String password = environment.getProperty("db.shards.password", properties.determinePassword());
+
+        Map<String, HikariDataSource> pools = new LinkedHashMap<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource pool = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(properties.determineDriverClassName())
+                    .url(urls.get(i).trim())
+                    .username(username)
+                    .password(password)
+                    .build();
+            pool.setPoolName(shardLocator.shards().get(i));
+            pool.setMaximumPoolSize(poolSize);
+            pools.put(pool.getPoolName(), pool);
+        }
+        return new ShardPools(pools);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardPools pools, DatabaseConcurrencyConfig.Limits limits, ShardLocator shardLocator) {
+        Map<String, DataSource> shards = new LinkedHashMap<>();
+        pools.pools().forEach((shard, pool) -> shards.put(shard, limits.limit(pool)));
+        return new ShardRoutingDataSource(shards, shardLocator);
+    }
+
+    /**
+     * Connection pools owned by this configuration, by shard name.
+     */
+    public record ShardPools(Map<String, HikariDataSource> pools) implements AutoCloseable {
+        @Override
+        public void close() {
+            pools.values().forEach(HikariDataSource::close);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.multilang.memo.config;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free token bucket. The state (tokens, last refill time) is replaced with a CAS,
+ * so concurrent callers never block each other.
+ */
+public class TokenBucket {
+
+    private record State(double tokens, long updatedAt) {
+    }
+
+    private final double capacity;
+    private final double refillPerNano;
+    private final AtomicReference<State> state;
+
+    public TokenBucket(double capacity, double refillPerSecond) {
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / 1_000_000_000d;
+        this.state = new AtomicReference<>(new State(capacity, System.nanoTime()));
+    }
+
+    // tryConsume : () -> boolean
+    public boolean tryConsume() {
+        while (true) {
+            State current = state.get();
+            long now = System.nanoTime();
+            double tokens = available(current, now);
+            if (tokens < 1) {
+                return false;
+            }
+            if (state.compareAndSet(current, new State(tokens - 1, now))) {
+                return true;
+            }
+        }
+    }
+
+    // secondsUntilAvailable : () -> long  (Retry-After用)
+    public long secondsUntilAvailable() {
+        double missing = 1 - available(state.get(), System.nanoTime());
+        if (missing <= 0) {
+            return 0;
+        }
+        return (long) Math.ceil(missing / (refillPerNano * 1_000_000_000d));
+    }
+
+    private double available(State current, long now) {
+        return Math.min(capacity, current.tokens() + (now - current.updatedAt()) * refillPerNano);
+    }
+}
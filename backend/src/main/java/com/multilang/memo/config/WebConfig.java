@@ -2,8 +2,13 @@ package com.multilang.memo.config;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverters;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.http.converter.smile.JacksonSmileHttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
@@ -19,4 +24,12 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowCredentials(true)
                 .allowedHeaders("*");
     }
-}
\ No newline at end of file
+
+    // Accept: application/cbor / application/x-jackson-smile で同じDTOをバイナリ形式で返す（リクエストボディも同様）
+    // JSONより後ろに登録されるため、Accept: */* の場合は従来どおりJSONになる
+    @Override
+    public void configureMessageConverters(HttpMessageConverters.ServerBuilder builder) {
+        builder.withCborConverter(new JacksonCborHttpMessageConverter(CBORMapper.builder().findAndAddModules().build()))
+                .withSmileConverter(new JacksonSmileHttpMessageConverter(SmileMapper.builder().findAndAddModules().build()));
+    }
+}
@@ -3,6 +3,7 @@ package com.multilang.memo.controller;
 import com.multilang.memo.dto.AuthResponse;
 import com.multilang.memo.dto.RegisterRequest;
 import com.multilang.memo.dto.TokenRequest;
+import com.multilang.memo.entity.User;
 import com.multilang.memo.service.AuthService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -43,4 +44,12 @@ public class AuthController {
         authService.invalidateAllTokens();
         return ResponseEntity.ok("All tokens invalidated");
     }
+
+    @PostMapping("/invalidate")  // 自分のトークンだけを無効化する
+    public ResponseEntity<String> invalidateTokens(
+            @RequestHeader("Authorization") String authHeader) {
+        User user = authService.authenticate(authHeader);
+        authService.invalidateUserTokens(user.getUsername());
+        return ResponseEntity.ok("Tokens invalidated");
+    }
 }
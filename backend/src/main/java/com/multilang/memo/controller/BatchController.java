@@ -0,0 +1,37 @@
+package com.multilang.memo.controller;
+
+import com.multilang.memo.dto.BatchOperation;
+import com.multilang.memo.dto.BatchResponse;
+import com.multilang.memo.dto.BatchResult;
+import com.multilang.memo.entity.User;
+import com.multilang.memo.service.AuthService;
+import com.multilang.memo.service.BatchService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/batch")
+public class BatchController {
+
+    private final BatchService batchService;
+    private final AuthService authService;
+
+    public BatchController(BatchService batchService, AuthService authService) {
+        this.batchService = batchService;
+        this.authService = authService;
+    }
+
+    @PostMapping  // 複数操作を1トランザクションで実行（失敗時は失敗した操作のステータスで全体を取り消す）
+    public ResponseEntity<BatchResponse> execute(@RequestHeader("Authorization") String authHeader,
+                                                 @RequestBody List<BatchOperation> operations) {
+        User user = authService.authenticate(authHeader);
+        BatchResponse response = batchService.execute(user.getUsername(), operations);
+        if (response.committed()) {
+            return ResponseEntity.ok(response);
+        }
+        List<BatchResult> results = response.results();
+        return ResponseEntity.status(results.get(results.size() - 1).status()).body(response);
+    }
+}
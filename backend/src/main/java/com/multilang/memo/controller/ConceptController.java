@@ -1,11 +1,30 @@
 package com.multilang.memo.controller;
 
+import com.multilang.memo.config.RoutingContext;
+import com.multilang.memo.dto.ConceptPage;
+import com.multilang.memo.dto.ConceptView;
+import com.multilang.memo.dto.ImportResult;
+import com.multilang.memo.dto.Suggestion;
 import com.multilang.memo.entity.Concept;
 import com.multilang.memo.entity.User;
 import com.multilang.memo.service.AuthService;
+import com.multilang.memo.service.ConceptExportService;
+import com.multilang.memo.service.ConceptImportService;
+import com.multilang.memo.service.ConceptReadService;
 import com.multilang.memo.service.ConceptService;
+import com.multilang.memo.service.DataVersionService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @RestController
@@ -13,11 +32,23 @@ import java.util.List;
 public class ConceptController {
 
     private final ConceptService conceptService;
+    private final ConceptReadService conceptReadService;
     private final AuthService authService;
+    private final ConceptExportService conceptExportService;
+    private final ConceptImportService conceptImportService;
+    private final DataVersionService dataVersionService;
 
-    public  ConceptController(ConceptService conceptService,AuthService authService){
+    public  ConceptController(ConceptService conceptService,ConceptReadService conceptReadService,
+                              AuthService authService,
+                              ConceptExportService conceptExportService,
+                              ConceptImportService conceptImportService,
+                              DataVersionService dataVersionService){
         this.conceptService=conceptService;
+        this.conceptReadService=conceptReadService;
         this.authService=authService;
+        this.conceptExportService=conceptExportService;
+        this.conceptImportService=conceptImportService;
+        this.dataVersionService=dataVersionService;
     }
     // Helper method to extract user from Authorization header
 
@@ -35,24 +66,96 @@ public class ConceptController {
     }
 
     @GetMapping  // 全件取得（ユーザー別）
-    public List<Concept> getAll(@RequestHeader("Authorization") String authHeader,
-                                @RequestParam(required = false) String query) {
+    public ResponseEntity<List<ConceptView>> getAll(@RequestHeader("Authorization") String authHeader,
+                                                @RequestParam(required = false) String query,
+                                                WebRequest request) {
         User user = authService.authenticate(authHeader);
-        return conceptService.getAllConcepts(user.getUsername(),query);
+        // If-None-Matchが一致すればconceptテーブルを読まずに304を返す
+        long version = dataVersionService.currentVersion(user.getUsername());
+        String etag = etag(user.getUsername(), version);
+        if (request.checkNotModified(etag)) {
+            return cached(ResponseEntity.status(HttpStatus.NOT_MODIFIED), etag).build();
+        }
+        // 同じ版を見た同時リクエスト（複数タブ・二重送信）は1回の読み込みを共有する
+        return cached(ResponseEntity.ok(), etag)
+                .body(conceptReadService.getAllConcepts(user.getUsername(),query,version));
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)  // 一括インポート（JSON配列）
+    public ImportResult importJson(@RequestHeader("Authorization") String authHeader,
+                                   @RequestBody List<Concept> concepts) {
+        User user = authService.authenticate(authHeader);
+        return conceptImportService.importConcepts(user.getUsername(), concepts.iterator());
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)  // 一括インポート（NDJSONストリーム）
+    public ImportResult importNdjson(@RequestHeader("Authorization") String authHeader,
+                                     InputStream body) {
+        User user = authService.authenticate(authHeader);
+        return conceptImportService.importNdjson(user.getUsername(), body);
+    }
+
+    @GetMapping("/page")  // カーソルページング（ユーザー別）
+    public ConceptPage getPage(@RequestHeader("Authorization") String authHeader,
+                               @RequestParam(defaultValue = "50") int limit,
+                               @RequestParam(required = false) String after) {
+        User user = authService.authenticate(authHeader);
+        return conceptService.getConceptPage(user.getUsername(), limit, after);
+    }
+
+    @GetMapping("/export")  // 全件エクスポート（NDJSONストリーム）
+    public ResponseEntity<StreamingResponseBody> export(@RequestHeader("Authorization") String authHeader) {
+        User user = authService.authenticate(authHeader);
+        String username = user.getUsername();
+        // 別スレッドで書き出すため、ユーザーのシャードをそのスレッドでも使う
+        StreamingResponseBody body = out -> {
+            RoutingContext.bindUser(username);
+            try {
+                conceptExportService.exportConcepts(username, out);
+            } finally {
+                RoutingContext.clear();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"concepts.ndjson\"")
+                .body(body);
     }
 
     @GetMapping("/{id}")
-    public Concept getById(@RequestHeader("Authorization") String authHeader,
-                           @PathVariable Long id) {
+    public ResponseEntity<ConceptView> getById(@RequestHeader("Authorization") String authHeader,
+                                           @PathVariable Long id,
+                                           WebRequest request) {
+        User user = authService.authenticate(authHeader);
+        long version = dataVersionService.currentVersion(user.getUsername());
+        String etag = etag(user.getUsername(), version);
+        if (request.checkNotModified(etag)) {
+            return cached(ResponseEntity.status(HttpStatus.NOT_MODIFIED), etag).build();
+        }
+        return cached(ResponseEntity.ok(), etag)
+                .body(conceptReadService.getConceptById(id,user.getUsername(),version));
+    }
+
+    @GetMapping("/search")  // mode=fuzzy で綴り間違いを許容する
+    public List<ConceptView> search(@RequestHeader("Authorization") String authHeader,
+                                    @RequestParam String keyword,
+                                    @RequestParam(defaultValue = "exact") String mode) {
         User user = authService.authenticate(authHeader);
-        return  conceptService.getConceptById(id,user.getUsername());
+        if ("fuzzy".equals(mode)) {
+            return conceptReadService.fuzzySearch(user.getUsername(), keyword);
+        }
+        if (!"exact".equals(mode)) {
+            throw new IllegalArgumentException("mode must be exact or fuzzy");
+        }
+        return  conceptReadService.searchConcepts(user.getUsername(),keyword);
     }
 
-    @GetMapping("/search")
-    public List<Concept> search(@RequestHeader("Authorization") String authHeader,
-                                @RequestParam String keyword) {
+    @GetMapping("/suggest")  // 入力補完（IDとラベルのみ）
+    public List<Suggestion> suggest(@RequestHeader("Authorization") String authHeader,
+                                    @RequestParam String prefix,
+                                    @RequestParam(defaultValue = "10") int limit) {
         User user = authService.authenticate(authHeader);
-        return  conceptService.searchConcepts(user.getUsername(),keyword);
+        return conceptService.suggest(user.getUsername(), prefix, limit);
     }
 
     @PutMapping("/{id}")
@@ -69,4 +172,22 @@ public class ConceptController {
         User user = authService.authenticate(authHeader);
        conceptService.deleteConcept(id,user.getUsername());
     }
+
+    // etag : (String, long) -> String
+    // ユーザー名と版数のハッシュ。版数だけだと別ユーザーの同じ版数で304になってしまう
+    // データ版数はデータより先に読む（DataVersionService参照）
+    private static String etag(String username, long version) {
+        byte[] key = (username + '\0' + version).getBytes(StandardCharsets.UTF_8);
+        return "\"" + DigestUtils.md5DigestAsHex(key) + "\"";
+    }
+
+    // cached : (BodyBuilder, String) -> BodyBuilder
+    // 本文はユーザーごと・形式（JSON / CBOR / Smile）ごとに異なるので、キャッシュが
+    // Authorization と Accept ごとに分けて保存するようにする（ETagは形式によらず同じ）
+    private static ResponseEntity.BodyBuilder cached(ResponseEntity.BodyBuilder builder, String etag) {
+        return builder
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .varyBy(HttpHeaders.AUTHORIZATION, HttpHeaders.ACCEPT);
+    }
 }
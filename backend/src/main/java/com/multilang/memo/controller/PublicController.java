@@ -1,7 +1,7 @@
 package com.multilang.memo.controller;
 
 import com.multilang.memo.entity.Concept;
-import com.multilang.memo.service.ConceptService;
+import com.multilang.memo.service.DemoCatalog;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -12,18 +12,18 @@ import java.util.List;
 @CrossOrigin(origins = "http://localhost:5173")
 public class PublicController {
 
-    private final ConceptService conceptService;
-    private static final String DEMO_USERNAME = "demo-user";
+    private final DemoCatalog demoCatalog;
 
-    public PublicController(ConceptService conceptService) {
-        this.conceptService = conceptService;
+    public PublicController(DemoCatalog demoCatalog) {
+        this.demoCatalog = demoCatalog;
     }
 
+    // DBを経由せず、起動時に読み込んだデモ用スナップショットから検索する
     @GetMapping("/demo-concepts/search")
     public ResponseEntity<List<Concept>> searchDemoConcepts(
         @RequestParam String keyword
     ) {
-        List<Concept> results = conceptService.searchConcepts(DEMO_USERNAME, keyword);
+        List<Concept> results = demoCatalog.search(keyword);
         return ResponseEntity.ok(results);
     }
 }
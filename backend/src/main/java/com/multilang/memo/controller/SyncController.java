@@ -0,0 +1,39 @@
+package com.multilang.memo.controller;
+
+import com.multilang.memo.dto.SyncResponse;
+import com.multilang.memo.entity.User;
+import com.multilang.memo.service.AuthService;
+import com.multilang.memo.service.ChangeEventHub;
+import com.multilang.memo.service.SyncService;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/sync")
+public class SyncController {
+
+    private final SyncService syncService;
+    private final AuthService authService;
+    private final ChangeEventHub changeEventHub;
+
+    public SyncController(SyncService syncService, AuthService authService, ChangeEventHub changeEventHub) {
+        this.syncService = syncService;
+        this.authService = authService;
+        this.changeEventHub = changeEventHub;
+    }
+
+    @GetMapping  // 差分同期（sinceは前回のcheckpoint、初回は省略）
+    public SyncResponse sync(@RequestHeader("Authorization") String authHeader,
+                             @RequestParam(defaultValue = "0") long since) {
+        User user = authService.authenticate(authHeader);
+        return syncService.changesSince(user.getUsername(), since);
+    }
+
+    // 変更通知（SSE）。"change" のidはcheckpointで、"resync" を受けたら再接続して /api/sync で追いつく
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@RequestHeader("Authorization") String authHeader) {
+        User user = authService.authenticate(authHeader);
+        return changeEventHub.subscribe(user.getUsername());
+    }
+}
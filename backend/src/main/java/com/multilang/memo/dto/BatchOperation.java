@@ -0,0 +1,26 @@
+package com.multilang.memo.dto;
+
+import com.multilang.memo.entity.Concept;
+import com.multilang.memo.entity.Word;
+
+/**
+ * One operation of POST /api/batch. conceptId is required for every type except
+ * CREATE_CONCEPT, wordId for UPDATE_WORD / DELETE_WORD. concept carries name/notes
+ * (and optionally words for CREATE_CONCEPT), word the word fields.
+ */
+public record BatchOperation(
+        Type op,
+        Long conceptId,
+        Long wordId,
+        Concept concept,
+        Word word) {
+
+    public enum Type {
+        CREATE_CONCEPT,
+        UPDATE_CONCEPT,
+        DELETE_CONCEPT,
+        ADD_WORD,
+        UPDATE_WORD,
+        DELETE_WORD
+    }
+}
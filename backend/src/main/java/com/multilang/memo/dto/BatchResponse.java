@@ -0,0 +1,13 @@
+package com.multilang.memo.dto;
+
+import java.util.List;
+
+/**
+ * Response of POST /api/batch. When committed is false nothing was applied, and results
+ * end with the operation that failed. version is the new checkpoint for GET /api/sync.
+ */
+public record BatchResponse(
+        boolean committed,
+        Long version,
+        List<BatchResult> results) {
+}
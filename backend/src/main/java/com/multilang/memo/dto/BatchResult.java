@@ -0,0 +1,12 @@
+package com.multilang.memo.dto;
+
+/**
+ * Outcome of one batch operation. id is the concept or word the operation created or
+ * touched; message is set only for the operation that failed.
+ */
+public record BatchResult(
+        int index,
+        int status,
+        Long id,
+        String message) {
+}
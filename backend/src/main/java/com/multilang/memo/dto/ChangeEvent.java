@@ -0,0 +1,16 @@
+package com.multilang.memo.dto;
+
+import com.multilang.memo.entity.ConceptChange.EntityType;
+
+/**
+ * Payload of a "change" event on GET /api/sync/events. version is the checkpoint the
+ * mutation committed under, so a client can pass it to GET /api/sync?since=.
+ * entityType ALL (bulk import) carries no id and means "resync".
+ */
+public record ChangeEvent(
+        EntityType entityType,
+        Long id,
+        Long conceptId,
+        long version,
+        boolean deleted) {
+}
@@ -0,0 +1,24 @@
+package com.multilang.memo.dto;
+
+import com.multilang.memo.entity.Concept;
+
+import java.util.List;
+
+public class ConceptPage {
+    private List<Concept> items;
+    private String nextCursor;
+
+    public ConceptPage() {}
+
+    public ConceptPage(List<Concept> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Concept> getItems() { return items; }
+    public void setItems(List<Concept> items) { this.items = items; }
+
+    // 最終ページではnull
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
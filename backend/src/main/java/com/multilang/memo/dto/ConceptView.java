@@ -0,0 +1,16 @@
+package com.multilang.memo.dto;
+
+import java.util.List;
+
+/**
+ * Read-only projection of a Concept with its words, serialized with the same JSON shape
+ * as the entity. Built by ConceptReadService from ConceptWordRow rows.
+ */
+public record ConceptView(
+        Long id,
+        String username,
+        String name,
+        String notes,
+        List<WordView> words
+) {
+}
@@ -0,0 +1,17 @@
+package com.multilang.memo.dto;
+
+/**
+ * One row of Concept LEFT JOIN Word. Word columns are null for a concept without words.
+ */
+public record ConceptWordRow(
+        Long conceptId,
+        String name,
+        String notes,
+        Long wordId,
+        String word,
+        String language,
+        String ipa,
+        String nuance,
+        Boolean usedInDefinition
+) {
+}
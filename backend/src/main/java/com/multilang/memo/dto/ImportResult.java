@@ -0,0 +1,20 @@
+package com.multilang.memo.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ImportResult {
+    private int importedConcepts;
+    private int importedWords;
+    private List<String> skippedConcepts = new ArrayList<>();
+
+    public int getImportedConcepts() { return importedConcepts; }
+    public void setImportedConcepts(int importedConcepts) { this.importedConcepts = importedConcepts; }
+
+    public int getImportedWords() { return importedWords; }
+    public void setImportedWords(int importedWords) { this.importedWords = importedWords; }
+
+    // 既存または同一リクエスト内で重複したためスキップしたConcept名
+    public List<String> getSkippedConcepts() { return skippedConcepts; }
+    public void setSkippedConcepts(List<String> skippedConcepts) { this.skippedConcepts = skippedConcepts; }
+}
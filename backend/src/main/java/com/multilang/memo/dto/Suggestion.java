@@ -0,0 +1,8 @@
+package com.multilang.memo.dto;
+
+/**
+ * One autocomplete entry: a concept name or word that starts with the typed prefix,
+ * and the concept it belongs to.
+ */
+public record Suggestion(Long conceptId, String label) {
+}
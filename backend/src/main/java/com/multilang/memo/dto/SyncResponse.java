@@ -0,0 +1,17 @@
+package com.multilang.memo.dto;
+
+import java.util.List;
+
+/**
+ * Delta sync result. With fullResync the client replaces its whole store with concepts;
+ * otherwise it upserts concepts (each with its current words) and drops the deleted ids.
+ * checkpoint is passed back as since on the next call.
+ */
+public record SyncResponse(
+        boolean fullResync,
+        List<ConceptView> concepts,
+        List<Long> deletedConceptIds,
+        List<Long> deletedWordIds,
+        long checkpoint
+) {
+}
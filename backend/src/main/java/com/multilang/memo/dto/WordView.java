@@ -0,0 +1,14 @@
+package com.multilang.memo.dto;
+
+/**
+ * Read-only projection of a Word (same JSON shape as the entity, without the concept).
+ */
+public record WordView(
+        Long id,
+        String word,
+        String language,
+        String nuance,
+        String ipa,
+        Boolean usedInDefinition
+) {
+}
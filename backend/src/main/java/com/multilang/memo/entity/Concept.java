@@ -1,14 +1,20 @@
 package com.multilang.memo.entity;
 
+import com.multilang.memo.config.HibernateQueryCounter;
 import  jakarta.persistence.*;
 import  lombok.Data;
+import  org.hibernate.annotations.Cache;
+import  org.hibernate.annotations.CacheConcurrencyStrategy;
+import  org.hibernate.annotations.BatchSize;
 
 import java.util.ArrayList;
 import  java.util.List;
 
 @Entity
+@EntityListeners(HibernateQueryCounter.class)
 @Data
-@Table(name="concept")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name="concept", indexes = @Index(name = "idx_concept_username_id", columnList = "username, id"))
 public class Concept {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -20,6 +26,9 @@ public class Concept {
     private  String name;
     private  String notes;
 
+    // ページ単位の一覧でwordsを1クエリでまとめて初期化する（ConceptService.getConceptPage）
     @OneToMany(mappedBy = "concept",cascade = CascadeType.ALL,orphanRemoval = true)
+    @BatchSize(size = 128)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private  List<Word> words=new ArrayList<>();
 }
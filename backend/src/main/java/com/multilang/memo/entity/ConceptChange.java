@@ -0,0 +1,46 @@
+package com.multilang.memo.entity;
+
+import com.multilang.memo.config.HibernateQueryCounter;
+import  jakarta.persistence.*;
+import  lombok.Data;
+
+/**
+ * Change log entry for delta sync. version is the user's data version after the change
+ * (see DataVersionService), so a client checkpoint is a plain data version. Only the
+ * latest entry per entity is kept; a deleted entity keeps its entry as a tombstone.
+ */
+@Entity
+@EntityListeners(HibernateQueryCounter.class)
+@Data
+@Table(name = "concept_change", indexes = {
+        @Index(name = "idx_change_username_version", columnList = "username, version"),
+        @Index(name = "idx_change_username_concept", columnList = "username, concept_id")
+})
+public class ConceptChange {
+
+    // ALL は一括インポートなど個別に記録しない変更（これより古いチェックポイントは全件同期になる）
+    public enum EntityType { CONCEPT, WORD, ALL }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private  Long id;
+
+    @Column(nullable = false, length = 50)
+    private  String username;
+
+    @Column(nullable = false)
+    private  long version;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 10)
+    private  EntityType entityType;
+
+    @Column(name = "entity_id")
+    private  Long entityId;
+
+    @Column(name = "concept_id")
+    private  Long conceptId;
+
+    @Column(nullable = false)
+    private  boolean deleted;
+}
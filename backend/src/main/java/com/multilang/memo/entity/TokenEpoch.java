@@ -0,0 +1,35 @@
+package com.multilang.memo.entity;
+
+import com.multilang.memo.config.HibernateQueryCounter;
+import jakarta.persistence.*;
+
+/**
+ * Global token generation. Incrementing the single row invalidates every token issued
+ * under an older generation (see User.tokenGeneration).
+ */
+@Entity
+@EntityListeners(HibernateQueryCounter.class)
+@Table(name = "token_epoch")
+public class TokenEpoch {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private long generation;
+
+    // Constructors
+    public TokenEpoch() {}
+
+    public TokenEpoch(Long id, long generation) {
+        this.id = id;
+        this.generation = generation;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public long getGeneration() { return generation; }
+    public void setGeneration(long generation) { this.generation = generation; }
+}
@@ -1,9 +1,11 @@
 package com.multilang.memo.entity;
 
+import com.multilang.memo.config.HibernateQueryCounter;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(HibernateQueryCounter.class)
 @Table(name = "users")
 public class User {
 
@@ -23,6 +25,15 @@ public class User {
     @Column(name = "expires_at", nullable = false)
     private LocalDateTime expiresAt;
 
+    // ユーザーごとの世代。発行時のグローバル世代（TokenEpoch）を入れ、これより新しい世代が発行されると無効になる
+    // このユーザーだけを無効化するときは-1にする（AuthService.invalidateUserTokens）
+    @Column(name = "token_generation", nullable = false)
+    private long tokenGeneration;
+
+    // ConceptやWordが変更されるたびに増える（ETagに使う）
+    @Column(name = "data_version", nullable = false)
+    private long dataVersion;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -46,4 +57,10 @@ public class User {
 
     public LocalDateTime getExpiresAt() { return expiresAt; }
     public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+
+    public long getTokenGeneration() { return tokenGeneration; }
+    public void setTokenGeneration(long tokenGeneration) { this.tokenGeneration = tokenGeneration; }
+
+    public long getDataVersion() { return dataVersion; }
+    public void setDataVersion(long dataVersion) { this.dataVersion = dataVersion; }
 }
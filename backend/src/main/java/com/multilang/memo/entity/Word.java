@@ -1,11 +1,16 @@
 package com.multilang.memo.entity;
+import com.multilang.memo.config.HibernateQueryCounter;
 import  jakarta.persistence.*;
 import  lombok.Data;
+import  org.hibernate.annotations.Cache;
+import  org.hibernate.annotations.CacheConcurrencyStrategy;
 import  com.fasterxml.jackson.annotation.JsonIgnore;
 import  java.util.List;
 
 @Entity
+@EntityListeners(HibernateQueryCounter.class)
 @Data
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name="words")
 public class Word {
 
@@ -0,0 +1,7 @@
+package com.multilang.memo.exception;
+
+public class DatabaseBusyException extends RuntimeException {
+    public DatabaseBusyException(String message) {
+        super(message);
+    }
+}
@@ -35,6 +35,13 @@ public class GlobalExceptionHandler {
         return buildResponse(HttpStatus.BAD_REQUEST, ex.getMessage());
     }
 
+    // ⟦handleDatabaseBusy⟧ : DatabaseBusyException → 503 Response
+    // 接続取得時に投げられるためトランザクション例外に包まれるが、causeでも一致する
+    @ExceptionHandler(DatabaseBusyException.class)
+    public ResponseEntity<Map<String, Object>> handleDatabaseBusy(DatabaseBusyException ex) {
+        return buildResponse(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage());
+    }
+
     private ResponseEntity<Map<String, Object>> buildResponse(HttpStatus status, String message) {
         String safeMessage=(message!=null) ? message:"No message provided";
         return ResponseEntity.status(status).body(Map.of(
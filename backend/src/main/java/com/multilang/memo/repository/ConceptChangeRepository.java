@@ -0,0 +1,36 @@
+package com.multilang.memo.repository;
+
+import com.multilang.memo.entity.ConceptChange;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ConceptChangeRepository extends JpaRepository<ConceptChange, Long> {
+
+    // 差分取得（ユーザー別 + since < version <= until、記録順）
+    @Query("SELECT c FROM ConceptChange c WHERE c.username = :username AND c.version > :since AND c.version <= :until " +
+            "ORDER BY c.version, c.id")
+    List<ConceptChange> findChanges(@Param("username") String username, @Param("since") long since,
+                                    @Param("until") long until);
+
+    // 同じエンティティの古い記録を消す（最新の1件だけ残す）
+    @Modifying
+    @Query("DELETE FROM ConceptChange c WHERE c.username = :username AND c.entityType = :entityType AND c.entityId = :entityId")
+    int deleteByEntity(@Param("username") String username,
+                       @Param("entityType") ConceptChange.EntityType entityType,
+                       @Param("entityId") Long entityId);
+
+    // Concept削除時に、そのConceptとWordの記録をまとめて消す
+    @Modifying
+    @Query("DELETE FROM ConceptChange c WHERE c.username = :username AND c.conceptId = :conceptId")
+    int deleteByConcept(@Param("username") String username, @Param("conceptId") Long conceptId);
+
+    @Modifying
+    @Query("DELETE FROM ConceptChange c WHERE c.username = :username")
+    int deleteByUsername(@Param("username") String username);
+}
@@ -1,30 +1,78 @@
 package com.multilang.memo.repository;
 
+import com.multilang.memo.dto.ConceptWordRow;
 import com.multilang.memo.entity.Concept;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ConceptRepository extends JpaRepository<Concept, Long> {
 
-    // 検索（ユーザー別 + Concept name OR Concept notes OR Word word）
-    @Query("SELECT DISTINCT c FROM Concept c LEFT JOIN FETCH c.words w " +
-            "WHERE c.username = :username AND (c.name LIKE CONCAT('%', :keyword, '%') OR c.notes LIKE CONCAT('%', :keyword, '%') OR w.word LIKE CONCAT('%', :keyword, '%'))")
-    List<Concept> searchByKeyword(@Param("username") String username, @Param("keyword") String keyword);
+    // 検索（ID のみ、id順）。FULLTEXTが使えないDBでのFulltextSearchBackendの代替
+    @Query("SELECT DISTINCT c.id FROM Concept c LEFT JOIN c.words w " +
+            "WHERE c.username = :username AND (c.name LIKE CONCAT('%', :keyword, '%') OR c.notes LIKE CONCAT('%', :keyword, '%') OR w.word LIKE CONCAT('%', :keyword, '%')) " +
+            "ORDER BY c.id")
+    List<Long> searchIdsByKeyword(@Param("username") String username, @Param("keyword") String keyword);
 
     // 全件取得（ユーザー別）
     @Query("SELECT DISTINCT c FROM Concept c LEFT JOIN FETCH c.words WHERE c.username = :username")
     List<Concept> findAllWithWordsEagerly(@Param("username") String username);
 
+    // ID一括取得（検索インデックスの候補ID + ユーザー別）
+    @Query("SELECT DISTINCT c FROM Concept c LEFT JOIN FETCH c.words WHERE c.id IN :ids AND c.username = :username ORDER BY c.id")
+    List<Concept> findAllByIdInWithWords(@Param("ids") Collection<Long> ids, @Param("username") String username);
+
+    // ページ取得（ユーザー別 + id昇順のキーセット、wordsは含まない）
+    List<Concept> findByUsernameAndIdGreaterThanOrderByIdAsc(String username, Long afterId, Limit limit);
+
+    // エクスポート用（ユーザー別 + フラットな行をconcept/word id順に前方カーソルで読む）
+    // MySQLではURLのuseCursorFetch=trueと合わせてfetchSize単位でサーバー側カーソルから取得される
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.multilang.memo.dto.ConceptWordRow(c.id, c.name, c.notes, w.id, w.word, w.language, w.ipa, w.nuance, w.usedInDefinition) " +
+            "FROM Concept c LEFT JOIN c.words w WHERE c.username = :username ORDER BY c.id, w.id")
+    Stream<ConceptWordRow> streamRowsByUsername(@Param("username") String username);
+
+    // 読み取り専用の一覧・検索・詳細（ConceptReadService）。エンティティを作らずフラットな行で返す
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    @Query("SELECT new com.multilang.memo.dto.ConceptWordRow(c.id, c.name, c.notes, w.id, w.word, w.language, w.ipa, w.nuance, w.usedInDefinition) " +
+            "FROM Concept c LEFT JOIN c.words w WHERE c.id IN :ids AND c.username = :username ORDER BY c.id, w.id")
+    List<ConceptWordRow> findRowsByIdIn(@Param("ids") Collection<Long> ids, @Param("username") String username);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    @Query("SELECT new com.multilang.memo.dto.ConceptWordRow(c.id, c.name, c.notes, w.id, w.word, w.language, w.ipa, w.nuance, w.usedInDefinition) " +
+            "FROM Concept c LEFT JOIN c.words w WHERE c.id = :id AND c.username = :username ORDER BY w.id")
+    List<ConceptWordRow> findRowsById(@Param("id") Long id, @Param("username") String username);
+
     // 詳細取得（ID指定 + ユーザー別）
+    // WordServiceの所有者確認でも毎回呼ばれるため、結果はクエリキャッシュ、本体は2次キャッシュから組み立てる
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT c FROM Concept c LEFT JOIN FETCH c.words WHERE c.id = :id AND c.username = :username")
     Optional<Concept> findByIdWithWords(@Param("id") Long id, @Param("username") String username);
 
+    // 一括インポートの重複チェック用（ユーザー別の全Concept名）
+    @Query("SELECT c.name FROM Concept c WHERE c.username = :username")
+    List<String> findNamesByUsername(@Param("username") String username);
+
     // 重複チェック（ユーザー別 + 名前）
     boolean existsByUsernameAndName(String username, String name);
 }
\ No newline at end of file
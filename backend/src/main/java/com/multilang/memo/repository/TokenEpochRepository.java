@@ -0,0 +1,23 @@
+package com.multilang.memo.repository;
+
+import com.multilang.memo.entity.TokenEpoch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Repository
+public interface TokenEpochRepository extends JpaRepository<TokenEpoch, Long> {
+
+    @Query("SELECT e.generation FROM TokenEpoch e WHERE e.id = :id")
+    Optional<Long> findGenerationById(@Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE TokenEpoch e SET e.generation = e.generation + 1 WHERE e.id = :id")
+    int incrementGeneration(@Param("id") Long id);
+}
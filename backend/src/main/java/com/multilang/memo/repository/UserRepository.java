@@ -2,7 +2,11 @@ package com.multilang.memo.repository;
 
 import com.multilang.memo.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.Optional;
 
 @Repository
@@ -10,4 +14,18 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
     Optional<User> findByToken(String token);
     boolean existsByUsername(String username);
+
+    @Query("SELECT u.dataVersion FROM User u WHERE u.username = :username")
+    Optional<Long> findDataVersionByUsername(@Param("username") String username);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.dataVersion = u.dataVersion + 1 WHERE u.username = :username")
+    int incrementDataVersion(@Param("username") String username);
+
+    // どのグローバル世代より小さい値にして、このユーザーのトークンだけを無効化する
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.tokenGeneration = -1 WHERE u.username = :username")
+    int revokeTokenGeneration(@Param("username") String username);
 }
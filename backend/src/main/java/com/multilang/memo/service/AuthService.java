@@ -1,9 +1,11 @@
 package com.multilang.memo.service;
 
+import com.multilang.memo.config.ShardLocator;
 import com.multilang.memo.dto.AuthResponse;
 import com.multilang.memo.entity.User;
 import com.multilang.memo.exception.DuplicateResourceException;
 import com.multilang.memo.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
 
 import com.multilang.memo.exception.AuthenticationException;
@@ -12,11 +14,22 @@ import java.util.Optional;
 import java.util.UUID;
 
 @Service
+@Timed("memo.service")
 public class AuthService {
     private final UserRepository userRepository;
-
-    public AuthService(UserRepository userRepository){
+    private final TokenCache tokenCache;
+    private final TokenEpochService tokenEpochService;
+    private final TokenExpiryWriter tokenExpiryWriter;
+    private final ShardLocator shardLocator;
+
+    public AuthService(UserRepository userRepository, TokenCache tokenCache,
+                       TokenEpochService tokenEpochService, TokenExpiryWriter tokenExpiryWriter,
+                       ShardLocator shardLocator){
         this.userRepository=userRepository;
+        this.tokenCache=tokenCache;
+        this.tokenEpochService=tokenEpochService;
+        this.tokenExpiryWriter=tokenExpiryWriter;
+        this.shardLocator=shardLocator;
     }
 
     //authenticate :String -> User
@@ -26,12 +39,30 @@ public class AuthService {
         }
         String token=authHeader.substring(7);
 
-        User user=userRepository.findByToken(token)
+        long epoch=tokenEpochService.current();
+
+        // キャッシュ上で期限切れの場合はverifyTokenで延長された可能性があるためDBで確認する
+        TokenCache.Entry cached=tokenCache.get(token);
+        if (cached!=null && cached.generation()>=epoch && cached.expiresAt().isAfter(LocalDateTime.now())){
+            shardLocator.bind(cached.username());
+            return cached.toUser(token);
+        }
+
+        // トークンからはシャードが分からないため、シャーディング時は全シャードを探す
+        User user=shardLocator.findOnAnyShard(()->userRepository.findByToken(token))
                 .orElseThrow(()-> new AuthenticationException("Invalid token"));
 
         if (user.getExpiresAt().isBefore(LocalDateTime.now())){
+            tokenCache.evict(token);
             throw new AuthenticationException("Token expired");
         }
+        if (user.getTokenGeneration()<epoch){
+            tokenCache.evict(token);
+            throw new AuthenticationException("Token revoked");
+        }
+        tokenCache.put(user);
+        // 以降のDBアクセスをユーザーのシャードへ（レプリカ使用時は書き込み直後の読み取りの振り分けにも使う）
+        shardLocator.bind(user.getUsername());
         return user;
     }
     public AuthResponse register(String rawUsername) {
@@ -48,12 +79,17 @@ public class AuthService {
             throw new IllegalArgumentException("ユーザー名は50文字以下で入力してください");
 
         }
+        // 新規ユーザーもリングで決まるシャードに作成する
+        shardLocator.bind(username);
         Optional<User> existing=userRepository.findByUsername(username);
 
         if(existing.isPresent()){
             User user=existing.get();
 
-            if (user.getExpiresAt().isAfter(LocalDateTime.now())){
+            // invalidateAllTokensで無効化されたトークンは期限内でも失効扱いにし、再登録できるようにする
+            boolean active=user.getExpiresAt().isAfter(LocalDateTime.now())
+                    && user.getTokenGeneration()>=tokenEpochService.current();
+            if (active){
                 throw new DuplicateResourceException("このユーザー名は既に使用されています");
             }
             return reactivateUser(user);
@@ -62,9 +98,12 @@ public class AuthService {
     }
 
     private AuthResponse reactivateUser(User user){
+        String previousToken=user.getToken();
         user.setToken(UUID.randomUUID().toString());
         user.setExpiresAt(LocalDateTime.now().plusDays(90));
+        user.setTokenGeneration(tokenEpochService.reload());
         userRepository.save(user);
+        tokenCache.evict(previousToken);
         return new AuthResponse(user.getUsername(), user.getToken());
     }
 
@@ -73,36 +112,56 @@ public class AuthService {
         user.setUsername(username);
         user.setToken(UUID.randomUUID().toString());
         user.setExpiresAt(LocalDateTime.now().plusDays(90));
+        // 他インスタンスでの無効化直後に発行したトークンが古い世代にならないようDBから読む
+        user.setTokenGeneration(tokenEpochService.reload());
         userRepository.save(user);
         return new AuthResponse(user.getUsername(),user.getToken());
 
     }
 
     public AuthResponse verifyToken(String token) {
-        User user=userRepository.findByToken(token)
+        User user=shardLocator.findOnAnyShard(()->userRepository.findByToken(token))
                 .orElseThrow(()->new AuthenticationException("無効なトークンです"));
 
         if (user.getExpiresAt().isBefore(LocalDateTime.now())){
             throw new AuthenticationException("トークンの有効期限が切れています");
         }
+        if (user.getTokenGeneration()<tokenEpochService.current()){
+            throw new AuthenticationException("トークンは無効化されています");
+        }
 
-        user.setExpiresAt(LocalDateTime.now().plusDays(90));
-        userRepository.save(user);
+        // 延長はTokenExpiryWriterがまとめて書き込む（ページ表示ごとに行を更新しない）
+        // userは変更しない。open-in-viewで後続の書き込みにflushされないようにするため
+        tokenExpiryWriter.extend(user, LocalDateTime.now().plusDays(90));
+        tokenCache.put(user);
         return new AuthResponse(user.getUsername(), user.getToken());
     }
 
     public void logout(String token){
-        userRepository.findByToken(token)
+        shardLocator.findOnAnyShard(()->userRepository.findByToken(token))
                 .ifPresent(user->{
+                    shardLocator.bind(user.getUsername());
+                    tokenExpiryWriter.cancel(user.getId());
                     user.setExpiresAt(LocalDateTime.now().minusDays(1));
                     userRepository.save(user);
                 });
+        // DB更新後に破棄し、並行するauthenticateが古い期限を再キャッシュしないようにする
+        tokenCache.evict(token);
     }
+    // 全ユーザーを更新せず、グローバル世代を1つ進めるだけ（キャッシュ済みのトークンも次の照合で弾かれる）
     public void invalidateAllTokens(){
-        userRepository.findAll().forEach(user->{
-            user.setExpiresAt(LocalDateTime.now().minusDays(1));
-            userRepository.save(user);
-        });
+        tokenEpochService.advance();
+    }
+
+    // invalidateUserTokens : String -> void
+    // ユーザーの世代を下げる1行のUPDATE。期限延長のバッチ書き込みとは別の列なので上書きされない
+    // 他インスタンスのキャッシュはauth.token-cache.ttlまで残る（logoutと同じ）
+    public void invalidateUserTokens(String username){
+        shardLocator.bind(username);
+        Optional<User> user=userRepository.findByUsername(username);
+        userRepository.revokeTokenGeneration(username);
+        // DB更新後に破棄し、並行するauthenticateが古い世代を再キャッシュしないようにする
+        user.ifPresent(u->tokenCache.evict(u.getToken()));
     }
 }
 
@@ -0,0 +1,240 @@
+package com.multilang.memo.service;
+
+import com.multilang.memo.dto.BatchOperation;
+import com.multilang.memo.dto.BatchResponse;
+import com.multilang.memo.dto.BatchResult;
+import com.multilang.memo.entity.Concept;
+import com.multilang.memo.entity.ConceptChange.EntityType;
+import com.multilang.memo.entity.Word;
+import com.multilang.memo.exception.DuplicateResourceException;
+import com.multilang.memo.exception.ResourceNotFoundException;
+import com.multilang.memo.repository.ConceptRepository;
+import com.multilang.memo.repository.WordRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Applies an ordered list of concept/word operations for one user in a single transaction.
+ * Every concept the batch refers to is loaded (with its words) and ownership-checked by one
+ * query; the operations then only change managed entities, so the UPDATEs and DELETEs are
+ * flushed once at commit in JDBC batches (hibernate.jdbc.batch_size). The change log gets one
+ * version for the whole batch. The first failing operation rolls everything back.
+ */
+@Service
+@Timed("memo.service")
+public class BatchService {
+
+    static final int MAX_OPERATIONS = 100;
+
+    private final ConceptRepository conceptRepository;
+    private final WordRepository wordRepository;
+    private final ConceptSearchIndex searchIndex;
+    private final ChangeLogService changeLog;
+    private final TransactionTemplate transactionTemplate;
+
+    public BatchService(ConceptRepository conceptRepository, WordRepository wordRepository,
+                        ConceptSearchIndex searchIndex, ChangeLogService changeLog,
+                        TransactionTemplate transactionTemplate) {
+        this.conceptRepository = conceptRepository;
+        this.wordRepository = wordRepository;
+        this.searchIndex = searchIndex;
+        this.changeLog = changeLog;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    // execute : (String, List<BatchOperation>) -> BatchResponse
+    public BatchResponse execute(String username, List<BatchOperation> operations) {
+        if (operations == null || operations.isEmpty()) {
+            throw new IllegalArgumentException("operations must not be empty");
+        }
+        if (operations.size() > MAX_OPERATIONS) {
+            throw new IllegalArgumentException("At most " + MAX_OPERATIONS + " operations per batch");
+        }
+        Batch batch = new Batch(username);
+        BatchResponse response = transactionTemplate.execute(status -> {
+            batch.load(operations);
+            for (int i = 0; i < operations.size(); i++) {
+                try {
+                    batch.results.add(batch.apply(i, operations.get(i)));
+                } catch (ResourceNotFoundException e) {
+                    status.setRollbackOnly();
+                    return batch.failed(i, HttpStatus.NOT_FOUND, e.getMessage());
+                } catch (DuplicateResourceException e) {
+                    status.setRollbackOnly();
+                    return batch.failed(i, HttpStatus.CONFLICT, e.getMessage());
+                } catch (IllegalArgumentException e) {
+                    status.setRollbackOnly();
+                    return batch.failed(i, HttpStatus.BAD_REQUEST, e.getMessage());
+                }
+            }
+            long version = changeLog.batchChanged(username, batch.changes);
+            return new BatchResponse(true, version, batch.results);
+        });
+        if (response.committed()) {
+            // インデックスはコミット後にConcept単位で置き換える
+            long version = response.version();
+            batch.deleted.forEach(id -> searchIndex.remove(username, id, version));
+            batch.touched.forEach(id -> searchIndex.put(username, batch.concepts.get(id), version));
+        }
+        return response;
+    }
+
+    /**
+     * State of one batch: the owned concepts loaded up front and what has been changed.
+     */
+    private final class Batch {
+        private final String username;
+        private final Map<Long, Concept> concepts = new HashMap<>();
+        private final Set<String> createdNames = new HashSet<>();
+        private final Set<Long> touched = new HashSet<>();
+        private final Set<Long> deleted = new HashSet<>();
+        private final List<ChangeLogService.Entry> changes = new ArrayList<>();
+        private final List<BatchResult> results = new ArrayList<>();
+
+        Batch(String username) {
+            this.username = username;
+        }
+
+        // 参照されるConceptを1クエリで読み込む。他ユーザーのConceptは含まれない
+        void load(List<BatchOperation> operations) {
+            Set<Long> ids = new HashSet<>();
+            for (BatchOperation operation : operations) {
+                if (operation != null && operation.op() != BatchOperation.Type.CREATE_CONCEPT
+                        && operation.conceptId() != null) {
+                    ids.add(operation.conceptId());
+                }
+            }
+            if (!ids.isEmpty()) {
+                conceptRepository.findAllByIdInWithWords(ids, username)
+                        .forEach(concept -> concepts.put(concept.getId(), concept));
+            }
+        }
+
+        BatchResult apply(int index, BatchOperation operation) {
+            if (operation == null || operation.op() == null) {
+                throw new IllegalArgumentException("op is required");
+            }
+            return switch (operation.op()) {
+                case CREATE_CONCEPT -> createConcept(index, required(operation.concept(), "concept"));
+                case UPDATE_CONCEPT -> updateConcept(index, owned(operation.conceptId()),
+                        required(operation.concept(), "concept"));
+                case DELETE_CONCEPT -> deleteConcept(index, owned(operation.conceptId()));
+                case ADD_WORD -> addWord(index, owned(operation.conceptId()), required(operation.word(), "word"));
+                case UPDATE_WORD -> updateWord(index, owned(operation.conceptId()), operation.wordId(),
+                        required(operation.word(), "word"));
+                case DELETE_WORD -> deleteWord(index, owned(operation.conceptId()), operation.wordId());
+            };
+        }
+
+        private BatchResult createConcept(int index, Concept concept) {
+            if (concept.getName() == null || concept.getName().trim().isEmpty()) {
+                throw new IllegalArgumentException("Concept名を入力してください");
+            }
+            if (!createdNames.add(concept.getName())
+                    || conceptRepository.existsByUsernameAndName(username, concept.getName())) {
+                throw new DuplicateResourceException("Concept '" + concept.getName() + "' already exists");
+            }
+            concept.setId(null);
+            concept.setUsername(username);
+            if (concept.getWords() == null) {
+                concept.setWords(new ArrayList<>());
+            }
+            concept.getWords().forEach(word -> {
+                word.setId(null);
+                word.setConcept(concept);
+            });
+            Concept saved = conceptRepository.save(concept);
+            concepts.put(saved.getId(), saved);
+            touched.add(saved.getId());
+            changes.add(new ChangeLogService.Entry(EntityType.CONCEPT, saved.getId(), saved.getId(), false));
+            return new BatchResult(index, HttpStatus.CREATED.value(), saved.getId(), null);
+        }
+
+        private BatchResult updateConcept(int index, Concept existing, Concept concept) {
+            existing.setName(concept.getName());
+            existing.setNotes(concept.getNotes());
+            touched.add(existing.getId());
+            changes.add(new ChangeLogService.Entry(EntityType.CONCEPT, existing.getId(), existing.getId(), false));
+            return new BatchResult(index, HttpStatus.OK.value(), existing.getId(), null);
+        }
+
+        private BatchResult deleteConcept(int index, Concept existing) {
+            conceptRepository.delete(existing);
+            concepts.remove(existing.getId());
+            touched.remove(existing.getId());
+            deleted.add(existing.getId());
+            changes.add(new ChangeLogService.Entry(EntityType.CONCEPT, existing.getId(), existing.getId(), true));
+            return new BatchResult(index, HttpStatus.NO_CONTENT.value(), existing.getId(), null);
+        }
+
+        private BatchResult addWord(int index, Concept concept, Word word) {
+            word.setId(null);
+            word.setConcept(concept);
+            Word saved = wordRepository.save(word);
+            concept.getWords().add(saved);
+            touched.add(concept.getId());
+            changes.add(new ChangeLogService.Entry(EntityType.WORD, saved.getId(), concept.getId(), false));
+            return new BatchResult(index, HttpStatus.CREATED.value(), saved.getId(), null);
+        }
+
+        private BatchResult updateWord(int index, Concept concept, Long wordId, Word word) {
+            Word existing = wordOf(concept, wordId);
+            existing.setWord(word.getWord());
+            existing.setLanguage(word.getLanguage());
+            existing.setIpa(word.getIpa());
+            existing.setNuance(word.getNuance());
+            touched.add(concept.getId());
+            changes.add(new ChangeLogService.Entry(EntityType.WORD, wordId, concept.getId(), false));
+            return new BatchResult(index, HttpStatus.OK.value(), wordId, null);
+        }
+
+        // orphanRemovalによりコミット時にDELETEされる
+        private BatchResult deleteWord(int index, Concept concept, Long wordId) {
+            if (!concept.getWords().removeIf(word -> Objects.equals(word.getId(), wordId))) {
+                throw new ResourceNotFoundException("Word not found with id: " + wordId);
+            }
+            touched.add(concept.getId());
+            changes.add(new ChangeLogService.Entry(EntityType.WORD, wordId, concept.getId(), true));
+            return new BatchResult(index, HttpStatus.NO_CONTENT.value(), wordId, null);
+        }
+
+        private Concept owned(Long conceptId) {
+            Concept concept = conceptId == null ? null : concepts.get(conceptId);
+            if (concept == null) {
+                throw new ResourceNotFoundException("Concept not found with id: " + conceptId);
+            }
+            return concept;
+        }
+
+        // 所有者確認済みのConceptに属するWordだけを対象にする
+        private Word wordOf(Concept concept, Long wordId) {
+            return concept.getWords().stream()
+                    .filter(word -> Objects.equals(word.getId(), wordId))
+                    .findFirst()
+                    .orElseThrow(() -> new ResourceNotFoundException("Word not found with id: " + wordId));
+        }
+
+        private <T> T required(T value, String field) {
+            if (value == null) {
+                throw new IllegalArgumentException(field + " is required");
+            }
+            return value;
+        }
+
+        BatchResponse failed(int index, HttpStatus status, String message) {
+            List<BatchResult> failed = new ArrayList<>(results);
+            failed.add(new BatchResult(index, status.value(), null, message));
+            return new BatchResponse(false, null, failed);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.multilang.memo.service;
+
+import com.multilang.memo.dto.ChangeEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fan-out of committed changes to the open SSE streams of the same user.
+ * Publishing only offers the event to each subscriber's bounded buffer; a subscriber's
+ * buffer is written to its connection by at most one virtual thread at a time, so a slow
+ * client never blocks the committing request. When a buffer is full the subscriber's
+ * pending events are dropped, it is sent a "resync" event and its stream is closed; the
+ * client reconnects and catches up with GET /api/sync from its last checkpoint.
+ */
+@Component
+public class ChangeEventHub {
+
+    private final ConcurrentMap<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final Executor executor;
+    private final int bufferSize;
+    private final Duration timeout;
+    private final Counter delivered;
+    private final Counter overflowed;
+
+    @Autowired
+    public ChangeEventHub(@Value("${events.buffer-size:64}") int bufferSize,
+                          @Value("${events.timeout:30m}") Duration timeout,
+                          MeterRegistry meterRegistry) {
+        this(Executors.newVirtualThreadPerTaskExecutor(), bufferSize, timeout, meterRegistry);
+    }
+
+    ChangeEventHub(Executor executor, int bufferSize, Duration timeout, MeterRegistry meterRegistry) {
+        this.executor = executor;
+        this.bufferSize = bufferSize;
+        this.timeout = timeout;
+        this.delivered = meterRegistry.counter("memo.events.delivered");
+        this.overflowed = meterRegistry.counter("memo.events.overflowed");
+        meterRegistry.gauge("memo.events.subscribers", subscribers,
+                map -> map.values().stream().mapToInt(Set::size).sum());
+    }
+
+    // subscribe : String -> SseEmitter
+    public SseEmitter subscribe(String username) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        register(username, emitter);
+        return emitter;
+    }
+
+    void register(String username, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(username, emitter, new ArrayBlockingQueue<>(bufferSize));
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        subscribers.computeIfAbsent(username, u -> ConcurrentHashMap.newKeySet()).add(subscriber);
+    }
+
+    // コミット後に呼ばれる。ロールバックされた変更は配信しない
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommitted(ChangeLogService.Committed committed) {
+        Set<Subscriber> targets = subscribers.get(committed.username());
+        if (targets == null) {
+            return;
+        }
+        for (Subscriber subscriber : targets) {
+            subscriber.offer(committed.event());
+        }
+    }
+
+    // heartbeat : () -> void
+    // 中継サーバーのアイドル切断を防ぎ、切れた接続をsendの失敗で検出する
+    @Scheduled(fixedDelayString = "${events.heartbeat-interval:30s}")
+    public void heartbeat() {
+        for (Set<Subscriber> targets : subscribers.values()) {
+            for (Subscriber subscriber : targets) {
+                subscriber.pingDue = true;
+                subscriber.schedule();
+            }
+        }
+    }
+
+    int subscriberCount(String username) {
+        Set<Subscriber> targets = subscribers.get(username);
+        return targets == null ? 0 : targets.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(targets -> targets.forEach(subscriber -> subscriber.emitter.complete()));
+        subscribers.clear();
+        if (executor instanceof ExecutorService service) {
+            service.shutdown();
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscriber.closed = true;
+        subscribers.computeIfPresent(subscriber.username, (u, targets) -> {
+            targets.remove(subscriber);
+            return targets.isEmpty() ? null : targets;
+        });
+    }
+
+    /**
+     * One open stream: a bounded buffer and a flag ensuring a single drainer.
+     */
+    private final class Subscriber {
+        private final String username;
+        private final SseEmitter emitter;
+        private final Queue<ChangeEvent> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean pingDue;
+        private volatile boolean overflow;
+        private volatile boolean closed;
+
+        Subscriber(String username, SseEmitter emitter, Queue<ChangeEvent> buffer) {
+            this.username = username;
+            this.emitter = emitter;
+            this.buffer = buffer;
+        }
+
+        void offer(ChangeEvent event) {
+            if (closed) {
+                return;
+            }
+            if (!buffer.offer(event)) {
+                overflow = true;
+            }
+            schedule();
+        }
+
+        void schedule() {
+            if (!closed && draining.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                ChangeEvent event;
+                while (!closed) {
+                    if (overflow) {
+                        resync();
+                        return;
+                    }
+                    if ((event = buffer.poll()) == null) {
+                        break;
+                    }
+                    // SseEventBuilderはbuild時に状態が変わるため購読者ごとに作る
+                    emitter.send(SseEmitter.event()
+                            .name("change")
+                            .id(Long.toString(event.version()))
+                            .data(event));
+                    delivered.increment();
+                }
+                if (pingDue && !closed) {
+                    pingDue = false;
+                    emitter.send(SseEmitter.event().comment("ping"));
+                }
+            } catch (IOException | IllegalStateException e) {
+                // 切断済み。onError/onCompletionで登録も外れる
+                closed = true;
+                emitter.completeWithError(e);
+                remove(this);
+            } finally {
+                draining.set(false);
+            }
+            // drain終了とofferが競合した場合の取りこぼしを拾う
+            if (!closed && (overflow || !buffer.isEmpty())) {
+                schedule();
+            }
+        }
+
+        private void resync() throws IOException {
+            closed = true;
+            buffer.clear();
+            overflowed.increment();
+            remove(this);
+            emitter.send(SseEmitter.event().name("resync").data(Map.of("reason", "overflow")));
+            emitter.complete();
+        }
+    }
+}
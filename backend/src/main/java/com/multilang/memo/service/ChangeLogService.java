@@ -0,0 +1,131 @@
+package com.multilang.memo.service;
+
+import com.multilang.memo.dto.ChangeEvent;
+import com.multilang.memo.entity.ConceptChange;
+import com.multilang.memo.entity.ConceptChange.EntityType;
+import com.multilang.memo.repository.ConceptChangeRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records every committed Concept/Word mutation: bumps the user's data version (ETag) and
+ * writes a change log entry under the new version for delta sync. Both happen in one
+ * transaction, and the version UPDATE locks the user's row, so a user's entries commit in
+ * version order and a checkpoint never skips an entry that commits later.
+ * Each entry is also published as a {@link Committed} event, which ChangeEventHub pushes
+ * to the user's open event streams once the transaction has committed.
+ */
+@Service
+public class ChangeLogService {
+
+    /**
+     * Application event for one recorded change; username is used for routing only.
+     */
+    public record Committed(String username, ChangeEvent event) {
+    }
+
+    /**
+     * One change recorded by {@link #batchChanged}.
+     */
+    public record Entry(EntityType type, Long entityId, Long conceptId, boolean deleted) {
+    }
+
+    private final ConceptChangeRepository changeRepository;
+    private final DataVersionService dataVersionService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ChangeLogService(ConceptChangeRepository changeRepository, DataVersionService dataVersionService,
+                            ApplicationEventPublisher eventPublisher) {
+        this.changeRepository = changeRepository;
+        this.dataVersionService = dataVersionService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional
+    public long conceptChanged(String username, Long conceptId) {
+        long version = nextVersion(username);
+        changeRepository.deleteByEntity(username, EntityType.CONCEPT, conceptId);
+        save(username, version, EntityType.CONCEPT, conceptId, conceptId, false);
+        return version;
+    }
+
+    // Conceptのtombstoneだけを残す（Wordはカスケードで消えている）
+    @Transactional
+    public long conceptDeleted(String username, Long conceptId) {
+        long version = nextVersion(username);
+        changeRepository.deleteByConcept(username, conceptId);
+        save(username, version, EntityType.CONCEPT, conceptId, conceptId, true);
+        return version;
+    }
+
+    @Transactional
+    public long wordChanged(String username, Long conceptId, Long wordId) {
+        return recordWord(username, conceptId, wordId, false);
+    }
+
+    @Transactional
+    public long wordDeleted(String username, Long conceptId, Long wordId) {
+        return recordWord(username, conceptId, wordId, true);
+    }
+
+    // bulkChanged : String -> long
+    // 一括インポートなど件数の多い変更。これより前のチェックポイントを持つクライアントは全件同期する
+    @Transactional
+    public long bulkChanged(String username) {
+        long version = nextVersion(username);
+        changeRepository.deleteByUsername(username);
+        save(username, version, EntityType.ALL, null, null, false);
+        return version;
+    }
+
+    // batchChanged : (String, List<Entry>) -> long
+    // /api/batch用。1回のバージョン更新で全件を記録し、同じエンティティは最後の変更だけ残す
+    @Transactional
+    public long batchChanged(String username, List<Entry> entries) {
+        long version = nextVersion(username);
+        Map<String, Entry> latest = new LinkedHashMap<>();
+        for (Entry entry : entries) {
+            String key = entry.type() + ":" + entry.entityId();
+            latest.remove(key);
+            latest.put(key, entry);
+        }
+        for (Entry entry : latest.values()) {
+            if (entry.type() == EntityType.CONCEPT && entry.deleted()) {
+                changeRepository.deleteByConcept(username, entry.conceptId());
+            } else {
+                changeRepository.deleteByEntity(username, entry.type(), entry.entityId());
+            }
+            save(username, version, entry.type(), entry.entityId(), entry.conceptId(), entry.deleted());
+        }
+        return version;
+    }
+
+    private long recordWord(String username, Long conceptId, Long wordId, boolean deleted) {
+        long version = nextVersion(username);
+        changeRepository.deleteByEntity(username, EntityType.WORD, wordId);
+        save(username, version, EntityType.WORD, wordId, conceptId, deleted);
+        return version;
+    }
+
+    private long nextVersion(String username) {
+        dataVersionService.bump(username);
+        return dataVersionService.currentVersion(username);
+    }
+
+    private void save(String username, long version, EntityType type, Long entityId, Long conceptId, boolean deleted) {
+        ConceptChange change = new ConceptChange();
+        change.setUsername(username);
+        change.setVersion(version);
+        change.setEntityType(type);
+        change.setEntityId(entityId);
+        change.setConceptId(conceptId);
+        change.setDeleted(deleted);
+        changeRepository.save(change);
+        eventPublisher.publishEvent(new Committed(username, new ChangeEvent(type, entityId, conceptId, version, deleted)));
+    }
+}
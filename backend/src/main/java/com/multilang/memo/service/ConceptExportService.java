@@ -0,0 +1,84 @@
+package com.multilang.memo.service;
+
+import com.multilang.memo.dto.ConceptWordRow;
+import com.multilang.memo.entity.Concept;
+import com.multilang.memo.entity.Word;
+import com.multilang.memo.repository.ConceptRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+public class ConceptExportService {
+
+    private static final int FLUSH_EVERY = 100;
+
+    private final ConceptRepository conceptRepository;
+    private final ObjectMapper objectMapper;
+
+    public ConceptExportService(ConceptRepository conceptRepository, ObjectMapper objectMapper) {
+        this.conceptRepository = conceptRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    // exportConcepts : (String, OutputStream) -> void
+    // 1行1Concept（words含む）のNDJSONを書き出す。保持するのは常に1Concept分だけ
+    @Transactional(readOnly = true)
+    public void exportConcepts(String username, OutputStream out) throws IOException {
+        try (Stream<ConceptWordRow> rows = conceptRepository.streamRowsByUsername(username)) {
+            Iterator<ConceptWordRow> iterator = rows.iterator();
+            Concept current = null;
+            int written = 0;
+            while (iterator.hasNext()) {
+                ConceptWordRow row = iterator.next();
+                if (current == null || !current.getId().equals(row.conceptId())) {
+                    if (current != null) {
+                        writeLine(out, current);
+                        if (++written % FLUSH_EVERY == 0) {
+                            out.flush();
+                        }
+                    }
+                    current = toConcept(username, row);
+                }
+                if (row.wordId() != null) {
+                    current.getWords().add(toWord(row));
+                }
+            }
+            if (current != null) {
+                writeLine(out, current);
+            }
+            out.flush();
+        }
+    }
+
+    private void writeLine(OutputStream out, Concept concept) throws IOException {
+        // writeValue(OutputStream)はストリームを閉じてしまうのでバイト列で書く
+        out.write(objectMapper.writeValueAsBytes(concept));
+        out.write('\n');
+    }
+
+    private Concept toConcept(String username, ConceptWordRow row) {
+        Concept concept = new Concept();
+        concept.setId(row.conceptId());
+        concept.setUsername(username);
+        concept.setName(row.name());
+        concept.setNotes(row.notes());
+        return concept;
+    }
+
+    private Word toWord(ConceptWordRow row) {
+        Word word = new Word();
+        word.setId(row.wordId());
+        word.setWord(row.word());
+        word.setLanguage(row.language());
+        word.setIpa(row.ipa());
+        word.setNuance(row.nuance());
+        word.setUsedInDefinition(row.usedInDefinition());
+        return word;
+    }
+}
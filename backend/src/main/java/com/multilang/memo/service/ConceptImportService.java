@@ -0,0 +1,168 @@
+package com.multilang.memo.service;
+
+import com.multilang.memo.dto.ImportResult;
+import com.multilang.memo.entity.Concept;
+import com.multilang.memo.entity.Word;
+import com.multilang.memo.repository.ConceptRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.InputStream;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk import that bypasses the per-entity JPA path. Concept/Word keep IDENTITY ids, so
+ * inserts go through JDBC batches (rewriteBatchedStatements on MySQL) and the generated
+ * concept ids are read back per batch to link the words.
+ */
+@Service
+public class ConceptImportService {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private static final String INSERT_CONCEPT =
+            "INSERT INTO concept (username, name, notes) VALUES (?, ?, ?)";
+    private static final String INSERT_WORD =
+            "INSERT INTO words (concept_id, word, language, nuance, ipa, used_in_definition) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final ConceptRepository conceptRepository;
+    private final ConceptSearchIndex searchIndex;
+    private final ChangeLogService changeLog;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public ConceptImportService(ConceptRepository conceptRepository, ConceptSearchIndex searchIndex,
+                                ChangeLogService changeLog, JdbcTemplate jdbcTemplate,
+                                TransactionTemplate transactionTemplate, ObjectMapper objectMapper,
+                                EntityManagerFactory entityManagerFactory) {
+        this.conceptRepository = conceptRepository;
+        this.searchIndex = searchIndex;
+        this.changeLog = changeLog;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    // importNdjson : (String, InputStream) -> ImportResult
+    // 1行1ConceptのNDJSON（エクスポートと同じ形式）を読みながら取り込む
+    public ImportResult importNdjson(String username, InputStream body) {
+        try (MappingIterator<Concept> concepts = objectMapper.readerFor(Concept.class).readValues(body)) {
+            return importConcepts(username, concepts);
+        } catch (JacksonException e) {
+            throw new IllegalArgumentException("Invalid NDJSON: " + e.getOriginalMessage());
+        }
+    }
+
+    // importConcepts : (String, Iterator<Concept>) -> ImportResult
+    // 全件を1トランザクションで取り込み、1件でも不正なら全体をロールバックする
+    public ImportResult importConcepts(String username, Iterator<Concept> concepts) {
+        ImportResult result = transactionTemplate.execute(status -> {
+            ImportResult imported = new ImportResult();
+            // 重複チェックは既存名を1回だけ読み込んでメモリ上で行う
+            Set<String> names = new HashSet<>(conceptRepository.findNamesByUsername(username));
+            List<Concept> chunk = new ArrayList<>(CHUNK_SIZE);
+            while (concepts.hasNext()) {
+                Concept concept = concepts.next();
+                validate(concept);
+                if (!names.add(concept.getName())) {
+                    imported.getSkippedConcepts().add(concept.getName());
+                    continue;
+                }
+                chunk.add(concept);
+                if (chunk.size() == CHUNK_SIZE) {
+                    insertChunk(username, chunk, imported);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                insertChunk(username, chunk, imported);
+            }
+            // 件数が多いため個別には記録せず、差分同期のクライアントには全件同期させる
+            // 取り込んだ行と同じトランザクションでdata_versionを上げる（古いETagのまま見えないように）
+            if (imported.getImportedConcepts() > 0) {
+                changeLog.bulkChanged(username);
+            }
+            return imported;
+        });
+        // JDBCで直接書き込んだため、コミット後にインデックスを作り直させる
+        searchIndex.evict(username);
+        // Hibernateを経由しない書き込みはクエリキャッシュの更新タイムスタンプに反映されない
+        entityManagerFactory.getCache().unwrap(Cache.class).evictQueryRegions();
+        return result;
+    }
+
+    private void validate(Concept concept) {
+        if (concept == null || concept.getName() == null || concept.getName().trim().isEmpty()) {
+            throw new IllegalArgumentException("Concept名を入力してください");
+        }
+    }
+
+    private void insertChunk(String username, List<Concept> chunk, ImportResult imported) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_CONCEPT, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Concept concept = chunk.get(i);
+                        ps.setString(1, username);
+                        ps.setString(2, concept.getName());
+                        ps.setString(3, concept.getNotes());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return chunk.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (keys.size() != chunk.size()) {
+            throw new IllegalStateException("Expected " + chunk.size() + " generated keys but got " + keys.size());
+        }
+        List<Object[]> wordRows = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            // MySQLは GENERATED_KEY、H2は ID という列名で返すため値だけを見る
+            long conceptId = ((Number) keys.get(i).values().iterator().next()).longValue();
+            List<Word> words = chunk.get(i).getWords();
+            if (words == null) {
+                continue;
+            }
+            for (Word word : words) {
+                wordRows.add(new Object[]{
+                        conceptId,
+                        word.getWord(),
+                        word.getLanguage(),
+                        word.getNuance(),
+                        word.getIpa(),
+                        Boolean.TRUE.equals(word.getUsedInDefinition())
+                });
+            }
+        }
+        if (!wordRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_WORD, wordRows);
+        }
+        imported.setImportedConcepts(imported.getImportedConcepts() + chunk.size());
+        imported.setImportedWords(imported.getImportedWords() + wordRows.size());
+    }
+}
@@ -0,0 +1,143 @@
+package com.multilang.memo.service;
+
+import com.multilang.memo.dto.ConceptView;
+import com.multilang.memo.dto.ConceptWordRow;
+import com.multilang.memo.dto.WordView;
+import com.multilang.memo.exception.ResourceNotFoundException;
+import com.multilang.memo.repository.ConceptRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Read path for the concept GET endpoints. Reads flat Concept LEFT JOIN Word rows as
+ * records in a read-only transaction (flush mode MANUAL, no entity snapshots) and groups
+ * them into ConceptView. Writes and ownership checks stay on ConceptService.
+ * The variants taking the caller's data version coalesce concurrent identical reads (same
+ * user, operation, arguments and version) into one load through SingleFlight; the version
+ * keeps a caller from sharing a load that started before a write it has already seen.
+ */
+@Service
+@Timed("memo.service")
+@Transactional(readOnly = true)
+public class ConceptReadService {
+
+    private final ConceptRepository conceptRepository;
+    private final ConceptSearchBackend searchBackend;
+    private final ConceptSearchIndex searchIndex;
+    private final int fuzzyMaxDistance;
+    private final TransactionTemplate readOnlyTransaction;
+    private final SingleFlight<ReadKey> allConcepts;
+    private final SingleFlight<ReadKey> conceptById;
+
+    private record ReadKey(String username, Object argument, long version) {
+    }
+
+    public ConceptReadService(ConceptRepository conceptRepository, ConceptSearchBackend searchBackend,
+                              ConceptSearchIndex searchIndex,
+                              @Value("${search.fuzzy.max-distance:2}") int fuzzyMaxDistance,
+                              PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.conceptRepository = conceptRepository;
+        this.searchBackend = searchBackend;
+        this.searchIndex = searchIndex;
+        this.fuzzyMaxDistance = fuzzyMaxDistance;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.allConcepts = new SingleFlight<>("getAllConcepts", meterRegistry);
+        this.conceptById = new SingleFlight<>("getConceptById", meterRegistry);
+    }
+
+    // getAllConcepts : (String, String?, long) -> List<ConceptView>
+    // 待つだけの呼び出しが接続を借りないよう、トランザクションは読み込む側だけが開始する
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<ConceptView> getAllConcepts(String username, String query, long version) {
+        String argument = query == null ? "" : query;
+        return allConcepts.execute(new ReadKey(username, argument, version),
+                () -> readOnlyTransaction.execute(status -> getAllConcepts(username, query)));
+    }
+
+    // getConceptById : (Long, String, long) -> ConceptView
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ConceptView getConceptById(Long id, String username, long version) {
+        return conceptById.execute(new ReadKey(username, id, version),
+                () -> readOnlyTransaction.execute(status -> getConceptById(id, username)));
+    }
+
+    // getAllConcepts: String, String? -> List<ConceptView>
+    public List<ConceptView> getAllConcepts(String username, String query) {
+        if (query != null && !query.isEmpty()) {
+            return searchConcepts(username, query);
+        }
+        try (Stream<ConceptWordRow> rows = conceptRepository.streamRowsByUsername(username)) {
+            return group(username, rows.iterator());
+        }
+    }
+
+    // searchConcepts : (String, String) -> List<ConceptView>
+    public List<ConceptView> searchConcepts(String username, String keyword) {
+        return loadInOrder(username, searchBackend.search(username, keyword));
+    }
+
+    // fuzzySearch : (String, String) -> List<ConceptView>
+    // 綴り間違いを許容する検索（編集距離search.fuzzy.max-distance以内、近い順）
+    public List<ConceptView> fuzzySearch(String username, String keyword) {
+        return loadInOrder(username, searchIndex.searchFuzzy(username, keyword, fuzzyMaxDistance));
+    }
+
+    private List<ConceptView> loadInOrder(String username, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<ConceptView> views = group(username, conceptRepository.findRowsByIdIn(ids, username).iterator());
+        return ConceptSearchBackend.inSearchOrder(ids, views, ConceptView::id);
+    }
+
+    // getConceptById : (Long, String) -> ConceptView
+    public ConceptView getConceptById(Long id, String username) {
+        List<ConceptView> found = group(username, conceptRepository.findRowsById(id, username).iterator());
+        if (found.isEmpty()) {
+            throw new ResourceNotFoundException("Concept not found with id: " + id);
+        }
+        return found.get(0);
+    }
+
+    // group : (String, Iterator<ConceptWordRow>) -> List<ConceptView>
+    // 行はconcept id順に並んでいること（同じConceptの行が連続する）
+    static List<ConceptView> group(String username, Iterator<ConceptWordRow> rows) {
+        List<ConceptView> result = new ArrayList<>();
+        ConceptWordRow head = null;
+        List<WordView> words = null;
+        while (rows.hasNext()) {
+            ConceptWordRow row = rows.next();
+            if (head == null || !head.conceptId().equals(row.conceptId())) {
+                if (head != null) {
+                    result.add(toView(username, head, words));
+                }
+                head = row;
+                words = new ArrayList<>();
+            }
+            if (row.wordId() != null) {
+                words.add(new WordView(row.wordId(), row.word(), row.language(), row.nuance(), row.ipa(),
+                        row.usedInDefinition()));
+            }
+        }
+        if (head != null) {
+            result.add(toView(username, head, words));
+        }
+        return result;
+    }
+
+    private static ConceptView toView(String username, ConceptWordRow head, List<WordView> words) {
+        return new ConceptView(head.conceptId(), username, head.name(), head.notes(), words);
+    }
+}
@@ -0,0 +1,30 @@
+package com.multilang.memo.service;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Keyword search over a user's concepts (name, notes and word text). Returns matching
+ * concept ids, best match first. Selected with search.backend: "index" (default,
+ * ConceptSearchIndex) or "fulltext" (FulltextSearchBackend).
+ */
+public interface ConceptSearchBackend {
+
+    // search : (String, String) -> List<Long>
+    List<Long> search(String username, String keyword);
+
+    // inSearchOrder : (List<Long>, List<T>, T -> Long) -> List<T>
+    // ID指定で読み直した結果（id順）を検索結果の順位に並べ直す
+    static <T> List<T> inSearchOrder(List<Long> ids, List<T> items, Function<T, Long> idOf) {
+        Map<Long, Integer> rank = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            rank.putIfAbsent(ids.get(i), i);
+        }
+        return items.stream()
+                .sorted(Comparator.comparingInt(item -> rank.getOrDefault(idOf.apply(item), Integer.MAX_VALUE)))
+                .toList();
+    }
+}
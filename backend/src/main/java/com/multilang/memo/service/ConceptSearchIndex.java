@@ -0,0 +1,191 @@
+package com.multilang.memo.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.multilang.memo.dto.Suggestion;
+import com.multilang.memo.entity.Concept;
+import com.multilang.memo.entity.Word;
+import com.multilang.memo.repository.ConceptRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * In-memory bigram/trigram inverted index over Concept.name, Concept.notes and Word.word,
+ * plus a trigram term index (FuzzyIndex) for typo-tolerant search and a label trie
+ * (PrefixTrie) for autocomplete.
+ * A user's indexes are built from the database on first search and then kept up to date
+ * by ConceptService / WordService / BatchService on every create, update and delete. They
+ * are held in one bounded cache per user (max-users, expire-after-access), so users who
+ * stopped searching give their memory back.
+ * A mutation made inside a transaction is applied only after that transaction commits, so
+ * searches never see uncommitted rows and a rolled-back write never reaches the indexes.
+ * Each user's indexes remember the data version (ChangeLogService) they reflect. A local
+ * mutation is applied only when it carries that version or the next one; a gap means a
+ * change was committed elsewhere (another instance, or a direct write such as a shard move),
+ * and the indexes are dropped and rebuilt on the next search. The stored version is also
+ * compared with the database at most once per version-check-interval, which bounds how long
+ * a change made by another instance can go unnoticed by a user who only reads.
+ */
+@Component
+public class ConceptSearchIndex implements ConceptSearchBackend {
+
+    /**
+     * One user's indexes and the data version they reflect.
+     */
+    private static final class UserIndexes {
+        private final NgramIndex ngram = new NgramIndex();
+        private final FuzzyIndex fuzzy = new FuzzyIndex();
+        private final PrefixTrie trie = new PrefixTrie();
+        private long version;
+        private volatile long checkedAt;
+
+        private UserIndexes(long version, long checkedAt) {
+            this.version = version;
+            this.checkedAt = checkedAt;
+        }
+    }
+
+    private final ConceptRepository conceptRepository;
+    private final DataVersionService dataVersionService;
+    private final long versionCheckIntervalNanos;
+    private final Cache<String, UserIndexes> users;
+
+    public ConceptSearchIndex(ConceptRepository conceptRepository, DataVersionService dataVersionService,
+                              @Value("${search.index.max-users:1000}") long maxUsers,
+                              @Value("${search.index.expire-after-access:30m}") Duration expireAfterAccess,
+                              @Value("${search.index.version-check-interval:1s}") Duration versionCheckInterval,
+                              MeterRegistry meterRegistry) {
+        this.conceptRepository = conceptRepository;
+        this.dataVersionService = dataVersionService;
+        this.versionCheckIntervalNanos = versionCheckInterval.toNanos();
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "search.indexes");
+    }
+
+    // search : (String, String) -> List<Long>
+    // keywordを name / notes / word のいずれかに部分一致で含むConcept IDを昇順で返す
+    @Override
+    public List<Long> search(String username, String keyword) {
+        NgramIndex index = indexes(username).ngram;
+        index.ensureLoaded(() -> conceptRepository.findAllWithWordsEagerly(username));
+        return index.search(NgramIndex.normalize(keyword));
+    }
+
+    // searchFuzzy : (String, String, int) -> List<Long>
+    // Concept.name / Word.word のいずれかが編集距離maxDistance以内のConcept IDを近い順に返す
+    public List<Long> searchFuzzy(String username, String keyword, int maxDistance) {
+        FuzzyIndex index = indexes(username).fuzzy;
+        index.ensureLoaded(() -> conceptRepository.findAllWithWordsEagerly(username));
+        return index.search(keyword, maxDistance);
+    }
+
+    // suggest : (String, String, int) -> List<Suggestion>
+    // prefixで始まる Concept.name / Word.word を短い順に最大limit件返す
+    public List<Suggestion> suggest(String username, String prefix, int limit) {
+        PrefixTrie trie = indexes(username).trie;
+        trie.ensureLoaded(() -> conceptRepository.findAllWithWordsEagerly(username));
+        return trie.suggest(prefix, limit);
+    }
+
+    // put : (String, Concept, long) -> void
+    // Concept（wordsを含む）のドキュメントを丸ごと置き換える。versionは変更履歴のバージョン
+    public void put(String username, Concept concept, long version) {
+        apply(username, version, indexes -> {
+            indexes.ngram.put(concept);
+            indexes.fuzzy.put(concept);
+            indexes.trie.put(concept);
+        });
+    }
+
+    public void remove(String username, Long conceptId, long version) {
+        apply(username, version, indexes -> {
+            indexes.ngram.remove(conceptId);
+            indexes.fuzzy.remove(conceptId);
+            indexes.trie.remove(conceptId);
+        });
+    }
+
+    public void putWord(String username, Long conceptId, Word word, long version) {
+        apply(username, version, indexes -> {
+            indexes.ngram.putWord(conceptId, word);
+            indexes.fuzzy.putWord(conceptId, word);
+            indexes.trie.putWord(conceptId, word);
+        });
+    }
+
+    public void removeWord(String username, Long conceptId, Long wordId, long version) {
+        apply(username, version, indexes -> {
+            indexes.ngram.removeWord(conceptId, wordId);
+            indexes.fuzzy.removeWord(conceptId, wordId);
+            indexes.trie.removeWord(conceptId, wordId);
+        });
+    }
+
+    // evict : String -> void
+    // JPAを経由しない一括書き込みの後に呼ぶ。次回検索時にDBから再構築される
+    public void evict(String username) {
+        users.invalidate(username);
+    }
+
+    // indexes : String -> UserIndexes  (他で書き込まれていれば作り直す)
+    private UserIndexes indexes(String username) {
+        UserIndexes indexes = users.get(username, u -> new UserIndexes(dataVersionService.currentVersion(u), System.nanoTime()));
+        long now = System.nanoTime();
+        if (now - indexes.checkedAt <= versionCheckIntervalNanos) {
+            return indexes;
+        }
+        long current = dataVersionService.currentVersion(username);
+        synchronized (indexes) {
+            indexes.checkedAt = now;
+            if (current <= indexes.version) {
+                return indexes;
+            }
+        }
+        users.asMap().remove(username, indexes);
+        return users.get(username, u -> new UserIndexes(current, now));
+    }
+
+    // apply : (String, long, Consumer<UserIndexes>) -> void
+    // トランザクション内ならコミット後に反映する（ロールバックされた変更は反映しない）
+    private void apply(String username, long version, Consumer<UserIndexes> mutation) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyCommitted(username, version, mutation);
+                }
+            });
+            return;
+        }
+        applyCommitted(username, version, mutation);
+    }
+
+    // applyCommitted : (String, long, Consumer<UserIndexes>) -> void
+    // 同じバージョン（同じ変更）か次のバージョンなら反映する。間が空いていれば破棄する
+    private void applyCommitted(String username, long version, Consumer<UserIndexes> mutation) {
+        UserIndexes indexes = users.getIfPresent(username);
+        if (indexes == null) {
+            return;
+        }
+        synchronized (indexes) {
+            if (version == indexes.version || version == indexes.version + 1) {
+                mutation.accept(indexes);
+                indexes.version = version;
+                return;
+            }
+        }
+        users.asMap().remove(username, indexes);
+    }
+}
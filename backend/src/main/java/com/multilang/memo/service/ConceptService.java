@@ -1,27 +1,48 @@
 package com.multilang.memo.service;
 
+import com.multilang.memo.dto.ConceptPage;
+import com.multilang.memo.dto.Suggestion;
 import com.multilang.memo.entity.Concept;
 import com.multilang.memo.entity.User;
 import com.multilang.memo.exception.DuplicateResourceException;
 import com.multilang.memo.exception.ResourceNotFoundException;
 import com.multilang.memo.repository.ConceptRepository;
+import io.micrometer.core.annotation.Timed;
+import org.hibernate.Hibernate;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 
 
 @Service
+@Timed("memo.service")
 public class ConceptService {
 
+    // Concept.wordsの@BatchSize以下に保つこと
+    static final int MAX_PAGE_SIZE = 100;
+    static final int MAX_SUGGESTIONS = 50;
+
     private final ConceptRepository conceptRepository;
+    private final ConceptSearchIndex searchIndex;
+    private final ChangeLogService changeLog;
 
-    public ConceptService(ConceptRepository conceptRepository) {
+    public ConceptService(ConceptRepository conceptRepository, ConceptSearchIndex searchIndex,
+                          ChangeLogService changeLog) {
         this.conceptRepository = conceptRepository;
+        this.searchIndex = searchIndex;
+        this.changeLog = changeLog;
     }
 
     /**
      * Create a new concept with validation
      */
+    // 書き込み系は変更履歴（data_version）と同じトランザクションでコミットする
+    @Transactional
     public Concept createConcept(Concept concept, User user) {
         concept.setUsername(user.getUsername());
         // Validate name
@@ -36,17 +57,47 @@ public class ConceptService {
         }
         Concept saved = conceptRepository.save(concept);
         // wordsはLazyロードのため、JOIN FETCHで再取得してシリアライズエラーを防ぐ
-        return conceptRepository.findByIdWithWords(saved.getId(), user.getUsername())
+        Concept created = conceptRepository.findByIdWithWords(saved.getId(), user.getUsername())
                 .orElseThrow(() -> new ResourceNotFoundException("Concept not found after save: " + saved.getId()));
+        long version = changeLog.conceptChanged(user.getUsername(), created.getId());
+        searchIndex.put(user.getUsername(), created, version);
+        return created;
     }
 
-        // getAllConcepts: String, String? -> List<Concept>
-        public  List<Concept> getAllConcepts(String username, String query){
-            if(query !=null && !query.isEmpty()){
-                return  conceptRepository.searchByKeyword(username, query);
+        // getConceptPage : (String, int, String?) -> ConceptPage
+        // afterカーソルより後ろのConceptをid昇順でlimit件返す
+        @Transactional(readOnly = true)
+        public ConceptPage getConceptPage(String username, int limit, String after) {
+            if (limit < 1 || limit > MAX_PAGE_SIZE) {
+                throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
             }
-            return conceptRepository.findAllWithWordsEagerly(username);
+            List<Concept> rows = conceptRepository.findByUsernameAndIdGreaterThanOrderByIdAsc(
+                    username, decodeCursor(after), Limit.of(limit + 1));
+            boolean hasNext = rows.size() > limit;
+            List<Concept> items = new ArrayList<>(hasNext ? rows.subList(0, limit) : rows);
+            // 最初の初期化でページ内の未初期化wordsがまとめて1クエリで読み込まれる
+            items.forEach(concept -> Hibernate.initialize(concept.getWords()));
+            String nextCursor = hasNext ? encodeCursor(items.get(items.size() - 1).getId()) : null;
+            return new ConceptPage(items, nextCursor);
+        }
+
+        static String encodeCursor(Long id) {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(id.toString().getBytes(StandardCharsets.UTF_8));
         }
+
+        static long decodeCursor(String cursor) {
+            if (cursor == null || cursor.isEmpty()) {
+                return 0L;
+            }
+            try {
+                return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+            } catch (IllegalArgumentException e) {
+                // NumberFormatExceptionもここで捕捉される
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+        }
+
         // getConceptByid : (Long,String ) -> Concept
         public Concept getConceptById(Long id, String username) {
             return conceptRepository.findByIdWithWords(id, username)
@@ -54,19 +105,31 @@ public class ConceptService {
                     "Concept not found with id: " + id
                 ));
     }
-        public List<Concept> searchConcepts(String username, String keyword){
-            return conceptRepository.searchByKeyword(username,keyword);
+        // suggest : (String, String, int) -> List<Suggestion>
+        // 入力補完用。メモリ上のトライだけを引き、DBもトランザクションも使わない
+        public List<Suggestion> suggest(String username, String prefix, int limit) {
+            if (limit < 1 || limit > MAX_SUGGESTIONS) {
+                throw new IllegalArgumentException("limit must be between 1 and " + MAX_SUGGESTIONS);
+            }
+            return searchIndex.suggest(username, prefix, limit);
         }
         // updateConcept: Long , Concept ,String -> Concept
+        @Transactional
         public Concept updateConcept(Long id, Concept concept,String username){
             Concept existing=getConceptById(id,username);
             existing.setName(concept.getName());
             existing.setNotes(concept.getNotes());
-            return conceptRepository.save(existing);
+            Concept saved = conceptRepository.save(existing);
+            long version = changeLog.conceptChanged(username, id);
+            searchIndex.put(username, saved, version);
+            return saved;
         }
 
+        @Transactional
         public  void deleteConcept(Long id, String username){
         Concept existing =getConceptById(id,username);
         conceptRepository.delete(existing);
+        long version = changeLog.conceptDeleted(username, id);
+        searchIndex.remove(username, id, version);
         }
 }
@@ -0,0 +1,29 @@
+package com.multilang.memo.service;
+
+import com.multilang.memo.repository.UserRepository;
+import org.springframework.stereotype.Service;
+
+/**
+ * Per-user data version that concept read ETags are derived from. Every mutation bumps it
+ * through ChangeLogService in the same transaction as its write, so the new version becomes
+ * visible exactly when the data does. Readers fetch the version before the data, so a
+ * response is never tagged with a version newer than its content.
+ */
+@Service
+public class DataVersionService {
+
+    private final UserRepository userRepository;
+
+    public DataVersionService(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    // currentVersion : String -> long  (usersテーブルのみ参照する)
+    public long currentVersion(String username) {
+        return userRepository.findDataVersionByUsername(username).orElse(0L);
+    }
+
+    public void bump(String username) {
+        userRepository.incrementDataVersion(username);
+    }
+}
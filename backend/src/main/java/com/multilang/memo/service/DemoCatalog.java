@@ -0,0 +1,99 @@
+package com.multilang.memo.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.multilang.memo.config.RoutingContext;
+import com.multilang.memo.entity.Concept;
+import com.multilang.memo.entity.Word;
+import com.multilang.memo.repository.ConceptRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only in-memory snapshot of the demo vocabulary seeded by DataInitializer.
+ * Public demo searches are answered from the snapshot's own n-gram index and a bounded
+ * result cache and never reach the database.
+ */
+@Service
+public class DemoCatalog {
+
+    public static final String DEMO_USERNAME = "demo-user";
+
+    private static final int MAX_KEYWORD_LENGTH = 100;
+
+    private record Snapshot(Map<Long, Concept> concepts, NgramIndex index) {
+    }
+
+    private final ConceptRepository conceptRepository;
+    private final Cache<String, List<Concept>> results;
+    private volatile Snapshot snapshot = new Snapshot(Map.of(), new NgramIndex());
+
+    public DemoCatalog(ConceptRepository conceptRepository, MeterRegistry meterRegistry) {
+        this.conceptRepository = conceptRepository;
+        this.results = Caffeine.newBuilder()
+                .maximumSize(1000)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, results, "demo.search");
+    }
+
+    // refresh : () -> void
+    // DataInitializer（CommandLineRunner）の後、起動完了時に一度だけ読み込む
+    @EventListener(ApplicationReadyEvent.class)
+    public void refresh() {
+        List<Concept> loaded = RoutingContext.callAs(DEMO_USERNAME,
+                () -> conceptRepository.findAllWithWordsEagerly(DEMO_USERNAME));
+        List<Concept> copies = loaded.stream()
+                .map(DemoCatalog::copyOf)
+                .toList();
+        Map<Long, Concept> concepts = new LinkedHashMap<>();
+        copies.forEach(concept -> concepts.put(concept.getId(), concept));
+        NgramIndex index = new NgramIndex();
+        index.ensureLoaded(() -> copies);
+        snapshot = new Snapshot(concepts, index);
+        results.invalidateAll();
+    }
+
+    // search : String -> List<Concept>
+    public List<Concept> search(String keyword) {
+        if (keyword.length() > MAX_KEYWORD_LENGTH) {
+            return List.of();
+        }
+        return results.get(NgramIndex.normalize(keyword), needle -> {
+            Snapshot current = snapshot;
+            return current.index().search(needle).stream()
+                    .map(current.concepts()::get)
+                    .toList();
+        });
+    }
+
+    // Hibernateの管理外で共有しても安全な複製（リクエスト間で同じインスタンスを返す）
+    private static Concept copyOf(Concept source) {
+        Concept concept = new Concept();
+        concept.setId(source.getId());
+        concept.setUsername(source.getUsername());
+        concept.setName(source.getName());
+        concept.setNotes(source.getNotes());
+        List<Word> words = new ArrayList<>();
+        for (Word sourceWord : source.getWords()) {
+            Word word = new Word();
+            word.setId(sourceWord.getId());
+            word.setWord(sourceWord.getWord());
+            word.setLanguage(sourceWord.getLanguage());
+            word.setIpa(sourceWord.getIpa());
+            word.setNuance(sourceWord.getNuance());
+            word.setUsedInDefinition(sourceWord.getUsedInDefinition());
+            words.add(word);
+        }
+        concept.setWords(List.copyOf(words));
+        return concept;
+    }
+}
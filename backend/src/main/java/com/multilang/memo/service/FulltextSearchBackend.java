@@ -0,0 +1,104 @@
+package com.multilang.memo.service;
+
+import com.multilang.memo.config.RoutingContext;
+import com.multilang.memo.config.ShardLocator;
+import com.multilang.memo.repository.ConceptRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Search backend on MySQL FULLTEXT indexes with the ngram parser, so Japanese, English and
+ * French text is tokenized the same way. Rows must contain the keyword as a phrase
+ * (BOOLEAN MODE) and are ordered by the summed NATURAL LANGUAGE MODE relevance of
+ * concept name/notes and word text. On other databases (H2 in tests) it falls back
+ * to a LIKE query ordered by id.
+ */
+@Component
+@Primary
+@ConditionalOnProperty(name = "search.backend", havingValue = "fulltext")
+public class FulltextSearchBackend implements ConceptSearchBackend {
+
+    private static final Logger log = LoggerFactory.getLogger(FulltextSearchBackend.class);
+
+    // ngram_token_size（MySQLの既定値は2）より短いキーワードはFULLTEXTで引けない
+    private static final int MIN_FULLTEXT_LENGTH = 2;
+
+    private static final String FULLTEXT_SEARCH =
+            "SELECT m.id FROM (" +
+            " SELECT c.id AS id, MATCH(c.name, c.notes) AGAINST (? IN NATURAL LANGUAGE MODE) AS score" +
+            " FROM concept c WHERE c.username = ? AND MATCH(c.name, c.notes) AGAINST (? IN BOOLEAN MODE)" +
+            " UNION ALL" +
+            " SELECT w.concept_id, MATCH(w.word) AGAINST (? IN NATURAL LANGUAGE MODE)" +
+            " FROM words w JOIN concept c ON c.id = w.concept_id" +
+            " WHERE c.username = ? AND MATCH(w.word) AGAINST (? IN BOOLEAN MODE)" +
+            ") m GROUP BY m.id ORDER BY SUM(m.score) DESC, m.id";
+
+    private static final String INDEX_EXISTS =
+            "SELECT COUNT(*) FROM information_schema.statistics " +
+            "WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ?";
+
+    private final ConceptRepository conceptRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardLocator shardLocator;
+    private boolean mysql;
+
+    public FulltextSearchBackend(ConceptRepository conceptRepository, JdbcTemplate jdbcTemplate,
+                                 ShardLocator shardLocator) {
+        this.conceptRepository = conceptRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardLocator = shardLocator;
+    }
+
+    // ddl-autoではFULLTEXT（WITH PARSER ngram）を作れないため、起動時に無ければ作成する
+    @PostConstruct
+    void ensureIndexes() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>)
+                connection -> connection.getMetaData().getDatabaseProductName());
+        mysql = "MySQL".equalsIgnoreCase(product);
+        if (!mysql) {
+            log.info("search.backend=fulltext on {}: falling back to LIKE search", product);
+            return;
+        }
+        // シャーディング時は各シャードに作成する
+        for (String shard : shardLocator.shards()) {
+            RoutingContext.callOnShard(shard, () -> {
+                createIfMissing("concept", "ft_concept_name_notes", "(name, notes)");
+                createIfMissing("words", "ft_words_word", "(word)");
+                return null;
+            });
+        }
+    }
+
+    private void createIfMissing(String table, String index, String columns) {
+        Integer count = jdbcTemplate.queryForObject(INDEX_EXISTS, Integer.class, table, index);
+        if (count != null && count > 0) {
+            return;
+        }
+        log.info("Creating FULLTEXT index {} on {}", index, table);
+        jdbcTemplate.execute("ALTER TABLE " + table + " ADD FULLTEXT INDEX " + index + " " + columns + " WITH PARSER ngram");
+    }
+
+    @Override
+    public List<Long> search(String username, String keyword) {
+        String text = keyword.trim();
+        if (!mysql || text.length() < MIN_FULLTEXT_LENGTH) {
+            return conceptRepository.searchIdsByKeyword(username, keyword);
+        }
+        String phrase = toPhrase(text);
+        return jdbcTemplate.queryForList(FULLTEXT_SEARCH, Long.class,
+                text, username, phrase, text, username, phrase);
+    }
+
+    // BOOLEAN MODEの演算子として解釈されないよう、二重引用符で囲んだフレーズにする
+    static String toPhrase(String text) {
+        return "\"" + text.replace("\"", " ") + "\"";
+    }
+}
@@ -0,0 +1,254 @@
+package com.multilang.memo.service;
+
+import com.multilang.memo.entity.Concept;
+import com.multilang.memo.entity.Word;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Trigram index over the distinct terms (Concept.name and Word.word) of one user, for
+ * typo-tolerant lookup. Candidate terms come from the trigram postings of the query and
+ * are verified with a bounded Levenshtein distance, so a lookup never visits terms that
+ * share too few trigrams with the query. Thread-safe; maintained by ConceptSearchIndex.
+ */
+class FuzzyIndex {
+
+    private static final int GRAM = 3;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Document> documents = new HashMap<>();
+    // term -> (concept id -> 参照数)。同じConceptのnameとwordが同じ語でも1件として数える
+    private final Map<String, Map<Long, Integer>> terms = new HashMap<>();
+    private final Map<String, Set<String>> postings = new HashMap<>();
+    private volatile boolean loaded;
+
+    void ensureLoaded(Supplier<List<Concept>> loader) {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            documents.clear();
+            terms.clear();
+            postings.clear();
+            for (Concept concept : loader.get()) {
+                putLocked(concept);
+            }
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // search : (String, int) -> List<Long>
+    // 編集距離がmaxDistance以内の語を持つConcept IDを、距離の近い順（同距離はid順）で返す
+    List<Long> search(String query, int maxDistance) {
+        String needle = NgramIndex.normalize(query).trim();
+        if (needle.isEmpty()) {
+            return List.of();
+        }
+        // 1回の編集で変わるtrigramは高々3つ。共通trigramが1つ以上残る距離までに制限する
+        Set<String> queryGrams = grams(needle);
+        int distance = Math.min(maxDistance, (queryGrams.size() - 1) / GRAM);
+        int minShared = queryGrams.size() - GRAM * distance;
+
+        lock.readLock().lock();
+        try {
+            Map<String, Integer> shared = new HashMap<>();
+            for (String gram : queryGrams) {
+                Set<String> posting = postings.get(gram);
+                if (posting != null) {
+                    for (String term : posting) {
+                        shared.merge(term, 1, Integer::sum);
+                    }
+                }
+            }
+            Map<Long, Integer> best = new HashMap<>();
+            for (Map.Entry<String, Integer> candidate : shared.entrySet()) {
+                if (candidate.getValue() < minShared) {
+                    continue;
+                }
+                int d = boundedDistance(needle, candidate.getKey(), distance);
+                if (d <= distance) {
+                    for (Long conceptId : terms.get(candidate.getKey()).keySet()) {
+                        best.merge(conceptId, d, Math::min);
+                    }
+                }
+            }
+            List<Long> result = new ArrayList<>(best.keySet());
+            result.sort(Comparator.<Long>comparingInt(best::get).thenComparing(Comparator.naturalOrder()));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void put(Concept concept) {
+        lock.writeLock().lock();
+        try {
+            putLocked(concept);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long conceptId) {
+        lock.writeLock().lock();
+        try {
+            Document document = documents.remove(conceptId);
+            if (document != null) {
+                document.terms().forEach(term -> release(term, conceptId));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void putWord(Long conceptId, Word word) {
+        lock.writeLock().lock();
+        try {
+            Document document = documents.get(conceptId);
+            if (document == null) {
+                return;
+            }
+            String previous = document.words.put(word.getId(), NgramIndex.normalize(word.getWord()));
+            if (previous != null) {
+                release(previous, conceptId);
+            }
+            retain(document.words.get(word.getId()), conceptId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void removeWord(Long conceptId, Long wordId) {
+        lock.writeLock().lock();
+        try {
+            Document document = documents.get(conceptId);
+            if (document == null) {
+                return;
+            }
+            String previous = document.words.remove(wordId);
+            if (previous != null) {
+                release(previous, conceptId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void putLocked(Concept concept) {
+        Document previous = documents.remove(concept.getId());
+        if (previous != null) {
+            previous.terms().forEach(term -> release(term, concept.getId()));
+        }
+        Document document = new Document(NgramIndex.normalize(concept.getName()));
+        if (concept.getWords() != null) {
+            for (Word word : concept.getWords()) {
+                document.words.put(word.getId(), NgramIndex.normalize(word.getWord()));
+            }
+        }
+        documents.put(concept.getId(), document);
+        document.terms().forEach(term -> retain(term, concept.getId()));
+    }
+
+    private void retain(String term, Long conceptId) {
+        if (term.isEmpty()) {
+            return;
+        }
+        Map<Long, Integer> owners = terms.computeIfAbsent(term, t -> {
+            for (String gram : grams(t)) {
+                postings.computeIfAbsent(gram, g -> new HashSet<>()).add(t);
+            }
+            return new HashMap<>();
+        });
+        owners.merge(conceptId, 1, Integer::sum);
+    }
+
+    private void release(String term, Long conceptId) {
+        Map<Long, Integer> owners = terms.get(term);
+        if (owners == null) {
+            return;
+        }
+        owners.computeIfPresent(conceptId, (id, refs) -> refs > 1 ? refs - 1 : null);
+        if (!owners.isEmpty()) {
+            return;
+        }
+        terms.remove(term);
+        for (String gram : grams(term)) {
+            Set<String> posting = postings.get(gram);
+            if (posting != null && posting.remove(term) && posting.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    // grams : String -> Set<String>  (先頭2文字・末尾1文字を空白で埋めたtrigram。長さnの語でn+1個)
+    static Set<String> grams(String term) {
+        String padded = "  " + term + " ";
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    // boundedDistance : (String, String, int) -> int
+    // Levenshtein距離。limitを超えることが確定した時点でlimit + 1を返す
+    static int boundedDistance(String a, String b, int limit) {
+        if (Math.abs(a.length() - b.length()) > limit) {
+            return limit + 1;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > limit) {
+                return limit + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[b.length()], limit + 1);
+    }
+
+    /**
+     * Terms of one concept, already lower-cased.
+     */
+    private static final class Document {
+        private final String name;
+        private final Map<Long, String> words = new HashMap<>();
+
+        Document(String name) {
+            this.name = name;
+        }
+
+        List<String> terms() {
+            List<String> result = new ArrayList<>(words.values());
+            result.add(name);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.multilang.memo.service;
+
+import com.multilang.memo.entity.Concept;
+import com.multilang.memo.entity.Word;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Bigram/trigram inverted index over the name, notes and word text of one set of concepts.
+ * Thread-safe; used per user by ConceptSearchIndex and for the demo snapshot by DemoCatalog.
+ */
+class NgramIndex {
+
+    private static final int MIN_GRAM = 2;
+    private static final int MAX_GRAM = 3;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private volatile boolean loaded;
+
+    // 書き込みロックを保持したまま構築するため、構築中の更新は構築後に適用される
+    void ensureLoaded(Supplier<List<Concept>> loader) {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            documents.clear();
+            postings.clear();
+            for (Concept concept : loader.get()) {
+                putLocked(concept);
+            }
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    List<Long> search(String needle) {
+        lock.readLock().lock();
+        try {
+            Collection<Long> candidates = needle.length() < MIN_GRAM
+                    ? documents.keySet()
+                    : candidates(needle);
+            List<Long> result = new ArrayList<>();
+            for (Long id : candidates) {
+                // n-gramの一致は隣接を保証しないので本文で確認する
+                if (documents.get(id).contains(needle)) {
+                    result.add(id);
+                }
+            }
+            result.sort(Comparator.naturalOrder());
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Collection<Long> candidates(String needle) {
+        int n = Math.min(needle.length(), MAX_GRAM);
+        List<Set<Long>> lists = new ArrayList<>();
+        for (int i = 0; i + n <= needle.length(); i++) {
+            Set<Long> posting = postings.get(needle.substring(i, i + n));
+            if (posting == null) {
+                return List.of();
+            }
+            lists.add(posting);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+        Set<Long> result = new HashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.retainAll(lists.get(i));
+        }
+        return result;
+    }
+
+    void put(Concept concept) {
+        lock.writeLock().lock();
+        try {
+            putLocked(concept);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long conceptId) {
+        lock.writeLock().lock();
+        try {
+            Document document = documents.remove(conceptId);
+            if (document != null) {
+                reindex(conceptId, document.grams, Set.of());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void putWord(Long conceptId, Word word) {
+        lock.writeLock().lock();
+        try {
+            Document document = documents.get(conceptId);
+            if (document == null) {
+                return;
+            }
+            document.words.put(word.getId(), normalize(word.getWord()));
+            refresh(conceptId, document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void removeWord(Long conceptId, Long wordId) {
+        lock.writeLock().lock();
+        try {
+            Document document = documents.get(conceptId);
+            if (document == null || document.words.remove(wordId) == null) {
+                return;
+            }
+            refresh(conceptId, document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void putLocked(Concept concept) {
+        Document document = documents.computeIfAbsent(concept.getId(), id -> new Document());
+        document.name = normalize(concept.getName());
+        document.notes = normalize(concept.getNotes());
+        document.words.clear();
+        if (concept.getWords() != null) {
+            for (Word word : concept.getWords()) {
+                document.words.put(word.getId(), normalize(word.getWord()));
+            }
+        }
+        refresh(concept.getId(), document);
+    }
+
+    private void refresh(Long conceptId, Document document) {
+        Set<String> updated = document.computeGrams();
+        reindex(conceptId, document.grams, updated);
+        document.grams = updated;
+    }
+
+    // 差分だけpostingsを更新する
+    private void reindex(Long conceptId, Set<String> before, Set<String> after) {
+        for (String gram : before) {
+            if (!after.contains(gram)) {
+                Set<Long> posting = postings.get(gram);
+                if (posting != null && posting.remove(conceptId) && posting.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+        for (String gram : after) {
+            if (!before.contains(gram)) {
+                postings.computeIfAbsent(gram, g -> new HashSet<>()).add(conceptId);
+            }
+        }
+    }
+
+    static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    // grams : String -> Set<String>  (2-gram と 3-gram)
+    static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int n = MIN_GRAM; n <= MAX_GRAM; n++) {
+            for (int i = 0; i + n <= text.length(); i++) {
+                grams.add(text.substring(i, i + n));
+            }
+        }
+        return grams;
+    }
+
+    /**
+     * Searchable text of one concept, already lower-cased.
+     */
+    private static final class Document {
+        private String name = "";
+        private String notes = "";
+        private final Map<Long, String> words = new HashMap<>();
+        private Set<String> grams = Set.of();
+
+        boolean contains(String needle) {
+            if (name.contains(needle) || notes.contains(needle)) {
+                return true;
+            }
+            for (String word : words.values()) {
+                if (word.contains(needle)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        Set<String> computeGrams() {
+            // フィールドを跨いだn-gramは作らない
+            Set<String> result = grams(name);
+            result.addAll(grams(notes));
+            for (String word : words.values()) {
+                result.addAll(grams(word));
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,317 @@
+package com.multilang.memo.service;
+
+import com.multilang.memo.dto.Suggestion;
+import com.multilang.memo.entity.Concept;
+import com.multilang.memo.entity.Word;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Trie over the lower-cased Concept.name and Word.word labels of one user, for prefix
+ * autocomplete. Children are kept in sorted char arrays and terminal entries in parallel
+ * arrays, so a node costs a few small arrays instead of maps. Suggestions are collected
+ * breadth-first below the prefix node: shorter completions first, then in char order.
+ * Thread-safe; maintained by ConceptSearchIndex.
+ */
+class PrefixTrie {
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final long[] NO_IDS = new long[0];
+    private static final int[] NO_REFS = new int[0];
+    private static final String[] NO_LABELS = new String[0];
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // concept id -> そのConceptが登録しているラベル（name と word id毎のword）
+    private final Map<Long, Document> documents = new HashMap<>();
+    private Node root = new Node();
+    private volatile boolean loaded;
+
+    void ensureLoaded(Supplier<List<Concept>> loader) {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            // 読み込み前に届いた変更は読み込む内容に含まれているので捨てる
+            documents.clear();
+            root = new Node();
+            for (Concept concept : loader.get()) {
+                putLocked(concept);
+            }
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // suggest : (String, int) -> List<Suggestion>
+    List<Suggestion> suggest(String prefix, int limit) {
+        String key = NgramIndex.normalize(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.child(key.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+            List<Suggestion> result = new ArrayList<>(limit);
+            ArrayDeque<Node> queue = new ArrayDeque<>();
+            queue.add(node);
+            while (!queue.isEmpty() && result.size() < limit) {
+                Node current = queue.poll();
+                for (int i = 0; i < current.ids.length && result.size() < limit; i++) {
+                    result.add(new Suggestion(current.ids[i], current.labels[i]));
+                }
+                queue.addAll(Arrays.asList(current.children));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void put(Concept concept) {
+        lock.writeLock().lock();
+        try {
+            putLocked(concept);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long conceptId) {
+        lock.writeLock().lock();
+        try {
+            Document document = documents.remove(conceptId);
+            if (document != null) {
+                document.labels().forEach(label -> release(label, conceptId));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void putWord(Long conceptId, Word word) {
+        lock.writeLock().lock();
+        try {
+            Document document = documents.get(conceptId);
+            if (document == null) {
+                return;
+            }
+            String previous = document.words.put(word.getId(), word.getWord());
+            if (previous != null) {
+                release(previous, conceptId);
+            }
+            retain(word.getWord(), conceptId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void removeWord(Long conceptId, Long wordId) {
+        lock.writeLock().lock();
+        try {
+            Document document = documents.get(conceptId);
+            if (document == null) {
+                return;
+            }
+            String previous = document.words.remove(wordId);
+            if (previous != null) {
+                release(previous, conceptId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void putLocked(Concept concept) {
+        Document previous = documents.remove(concept.getId());
+        if (previous != null) {
+            previous.labels().forEach(label -> release(label, concept.getId()));
+        }
+        Document document = new Document(concept.getName());
+        if (concept.getWords() != null) {
+            for (Word word : concept.getWords()) {
+                document.words.put(word.getId(), word.getWord());
+            }
+        }
+        documents.put(concept.getId(), document);
+        document.labels().forEach(label -> retain(label, concept.getId()));
+    }
+
+    private void retain(String label, Long conceptId) {
+        String key = NgramIndex.normalize(label);
+        if (key.isEmpty()) {
+            return;
+        }
+        Node node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.childOrCreate(key.charAt(i));
+        }
+        node.retain(conceptId, label);
+    }
+
+    private void release(String label, Long conceptId) {
+        String key = NgramIndex.normalize(label);
+        if (key.isEmpty()) {
+            return;
+        }
+        Node[] path = new Node[key.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < key.length(); i++) {
+            path[i + 1] = path[i].child(key.charAt(i));
+            if (path[i + 1] == null) {
+                return;
+            }
+        }
+        path[key.length()].release(conceptId, label);
+        // 空になったノードを葉から取り除く
+        for (int i = key.length(); i > 0 && path[i].isEmpty(); i--) {
+            path[i - 1].removeChild(key.charAt(i - 1));
+        }
+    }
+
+    private static final class Node {
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        // このノードで終わるラベル（同じConceptの同じラベルは参照数で1件にまとめる）
+        private long[] ids = NO_IDS;
+        private int[] refs = NO_REFS;
+        private String[] labels = NO_LABELS;
+
+        Node child(char key) {
+            int i = Arrays.binarySearch(keys, key);
+            return i >= 0 ? children[i] : null;
+        }
+
+        Node childOrCreate(char key) {
+            int i = Arrays.binarySearch(keys, key);
+            if (i >= 0) {
+                return children[i];
+            }
+            int at = -i - 1;
+            Node child = new Node();
+            keys = insert(keys, at, key);
+            Node[] grown = Arrays.copyOf(children, children.length + 1);
+            System.arraycopy(children, at, grown, at + 1, children.length - at);
+            grown[at] = child;
+            children = grown;
+            return child;
+        }
+
+        void removeChild(char key) {
+            int i = Arrays.binarySearch(keys, key);
+            if (i < 0) {
+                return;
+            }
+            char[] shrunkKeys = new char[keys.length - 1];
+            System.arraycopy(keys, 0, shrunkKeys, 0, i);
+            System.arraycopy(keys, i + 1, shrunkKeys, i, keys.length - i - 1);
+            Node[] shrunk = new Node[children.length - 1];
+            System.arraycopy(children, 0, shrunk, 0, i);
+            System.arraycopy(children, i + 1, shrunk, i, children.length - i - 1);
+            keys = shrunkKeys.length == 0 ? NO_KEYS : shrunkKeys;
+            children = shrunk.length == 0 ? NO_CHILDREN : shrunk;
+        }
+
+        void retain(long conceptId, String label) {
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] == conceptId && labels[i].equals(label)) {
+                    refs[i]++;
+                    return;
+                }
+            }
+            ids = Arrays.copyOf(ids, ids.length + 1);
+            refs = Arrays.copyOf(refs, refs.length + 1);
+            labels = Arrays.copyOf(labels, labels.length + 1);
+            ids[ids.length - 1] = conceptId;
+            refs[refs.length - 1] = 1;
+            labels[labels.length - 1] = label;
+        }
+
+        // 大文字小文字違いのラベルも同じノードに入るため、ラベルまで一致する項目を減らす
+        void release(long conceptId, String label) {
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] != conceptId || !labels[i].equals(label)) {
+                    continue;
+                }
+                if (--refs[i] == 0) {
+                    ids = remove(ids, i);
+                    refs = remove(refs, i);
+                    labels = remove(labels, i);
+                }
+                return;
+            }
+        }
+
+        boolean isEmpty() {
+            return ids.length == 0 && children.length == 0;
+        }
+
+        private static char[] insert(char[] array, int at, char value) {
+            char[] grown = new char[array.length + 1];
+            System.arraycopy(array, 0, grown, 0, at);
+            grown[at] = value;
+            System.arraycopy(array, at, grown, at + 1, array.length - at);
+            return grown;
+        }
+
+        private static long[] remove(long[] array, int at) {
+            long[] shrunk = new long[array.length - 1];
+            System.arraycopy(array, 0, shrunk, 0, at);
+            System.arraycopy(array, at + 1, shrunk, at, array.length - at - 1);
+            return shrunk;
+        }
+
+        private static int[] remove(int[] array, int at) {
+            int[] shrunk = new int[array.length - 1];
+            System.arraycopy(array, 0, shrunk, 0, at);
+            System.arraycopy(array, at + 1, shrunk, at, array.length - at - 1);
+            return shrunk;
+        }
+
+        private static String[] remove(String[] array, int at) {
+            String[] shrunk = new String[array.length - 1];
+            System.arraycopy(array, 0, shrunk, 0, at);
+            System.arraycopy(array, at + 1, shrunk, at, array.length - at - 1);
+            return shrunk;
+        }
+    }
+
+    /**
+     * Labels of one concept, as entered.
+     */
+    private static final class Document {
+        private final String name;
+        private final Map<Long, String> words = new HashMap<>();
+
+        Document(String name) {
+            this.name = name;
+        }
+
+        List<String> labels() {
+            List<String> result = new ArrayList<>(words.values());
+            if (name != null) {
+                result.add(name);
+            }
+            return result;
+        }
+    }
+}
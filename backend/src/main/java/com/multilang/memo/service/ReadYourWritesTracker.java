@@ -0,0 +1,44 @@
+package com.multilang.memo.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * Read-your-writes bookkeeping for replica reads (db.replicas.enabled). Remembers, per user,
+ * the data version of the last committed mutation for up to max-lag. ReplicaRoutingDataSource
+ * reads a recently-written user's data (the user bound in RoutingContext) from a replica only
+ * once that replica has caught up to the remembered version.
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    private final boolean enabled;
+    private final Cache<String, Long> pendingVersions;
+
+    public ReadYourWritesTracker(@Value("${db.replicas.enabled:false}") boolean enabled,
+                                 @Value("${db.replicas.max-lag:30s}") Duration maxLag) {
+        this.enabled = enabled;
+        this.pendingVersions = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(maxLag)
+                .build();
+    }
+
+    // pendingVersion : String -> Long?
+    // max-lag以内に書き込んだユーザーなら、その時点のdata_versionを返す
+    public Long pendingVersion(String username) {
+        return pendingVersions.getIfPresent(username);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommitted(ChangeLogService.Committed committed) {
+        if (enabled) {
+            pendingVersions.asMap().merge(committed.username(), committed.event().version(), Math::max);
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package com.multilang.memo.service;
+
+import com.multilang.memo.config.ConsistentHashRing;
+import com.multilang.memo.config.ShardLocator;
+import com.multilang.memo.config.ShardingConfig;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Online rebalancing for username sharding (db.shards.enabled). moveUser copies one user's
+ * rows (users, concept, words, concept_change, ids preserved) to another shard in a single
+ * transaction, records the new location in shard_assignment and then deletes the source rows;
+ * the user's requests get 503 for the duration of the move. rebalance changes the ring
+ * membership (e.g. after adding a database to db.shards.urls) by moving only the users whose
+ * shard changes, then persisting the ring in shard_ring.
+ * Assignments and the ring live on ShardLocator.DEFAULT_SHARD and are re-read by every
+ * instance each refresh-interval; the request gate only covers this instance, so moves
+ * should be run where the user's traffic is drained or on a single instance.
+ */
+@Service
+@ConditionalOnProperty(name = "db.shards.enabled", havingValue = "true")
+public class ShardRebalanceService {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardRebalanceService.class);
+
+    // 親から順にコピーし、逆順に削除する
+    private static final List<String> COPY_QUERIES = List.of(
+            "SELECT * FROM users WHERE username = ?",
+            "SELECT * FROM concept WHERE username = ?",
+            "SELECT w.* FROM words w JOIN concept c ON w.concept_id = c.id WHERE c.username = ?",
+            "SELECT * FROM concept_change WHERE username = ?");
+    private static final List<String> COPY_TABLES = List.of("users", "concept", "words", "concept_change");
+    private static final List<String> DELETES = List.of(
+            "DELETE FROM words WHERE concept_id IN (SELECT id FROM concept WHERE username = ?)",
+            "DELETE FROM concept WHERE username = ?",
+            "DELETE FROM concept_change WHERE username = ?",
+            "DELETE FROM users WHERE username = ?");
+
+    /**
+     * Result of a move; moved is false when the user already lived on the target shard.
+     */
+    public record Move(String username, String from, String to, int rows, boolean moved) {
+    }
+
+    private final Map<String, ? extends DataSource> shards;
+    private final ShardLocator shardLocator;
+    private final Duration moveTimeout;
+
+    public ShardRebalanceService(ShardingConfig.ShardPools pools, ShardLocator shardLocator,
+                                 @Value("${db.shards.move-timeout:10s}") Duration moveTimeout) {
+        this(pools.pools(), shardLocator, moveTimeout);
+    }
+
+    // テストでは組み込みDBを直接渡す
+    ShardRebalanceService(Map<String, ? extends DataSource> shards, ShardLocator shardLocator, Duration moveTimeout) {
+        this.shards = shards;
+        this.shardLocator = shardLocator;
+        this.moveTimeout = moveTimeout;
+    }
+
+    // load : () -> void  (起動時（DataInitializerより前）と定期的に、他インスタンスが行った移動とリング変更を反映する)
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${db.shards.refresh-interval:30s}", initialDelayString = "${db.shards.refresh-interval:30s}")
+    public void load() {
+        try (Connection connection = directory().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS shard_assignment (" +
+                    "username VARCHAR(50) PRIMARY KEY, shard VARCHAR(32) NOT NULL)");
+            statement.execute("CREATE TABLE IF NOT EXISTS shard_ring (shard VARCHAR(32) PRIMARY KEY)");
+            List<String> members = new ArrayList<>();
+            try (ResultSet rows = statement.executeQuery("SELECT shard FROM shard_ring ORDER BY shard")) {
+                while (rows.next()) {
+                    members.add(rows.getString(1));
+                }
+            }
+            Map<String, String> assignments = new HashMap<>();
+            try (ResultSet rows = statement.executeQuery("SELECT username, shard FROM shard_assignment")) {
+                while (rows.next()) {
+                    assignments.put(rows.getString(1), rows.getString(2));
+                }
+            }
+            ConsistentHashRing ring = members.isEmpty() ? shardLocator.ring() : shardLocator.ring(members);
+            shardLocator.reset(ring, assignments);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to load shard directory", e);
+        }
+    }
+
+    // moveUser : (String, String) -> Move
+    public synchronized Move moveUser(String username, String target) {
+        if (!shards.containsKey(target)) {
+            throw new IllegalArgumentException("Unknown shard: " + target);
+        }
+        String source = shardLocator.shardFor(username);
+        if (source.equals(target)) {
+            return new Move(username, source, target, 0, false);
+        }
+        shardLocator.beginMove(username, moveTimeout);
+        try {
+            int rows = copy(username, shards.get(source), shards.get(target));
+            saveAssignment(username, target);
+            shardLocator.assign(username, target);
+            try {
+                transactional(shards.get(source), connection -> delete(connection, username));
+            } catch (SQLException e) {
+                // ルーティングは切り替え済み。残った行は次の移動時に上書きされる
+                log.warn("Moved {} to {} but failed to delete the rows on {}", username, target, source, e);
+            }
+            log.info("Moved {} from {} to {} ({} rows)", username, source, target, rows);
+            return new Move(username, source, target, rows, true);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to move " + username + " to " + target, e);
+        } finally {
+            shardLocator.endMove(username);
+        }
+    }
+
+    // rebalance : List<String> -> List<Move>
+    // 新しいリングで担当が変わるユーザーだけを移動してからリングを切り替える
+    public synchronized List<Move> rebalance(List<String> members) {
+        ConsistentHashRing next = shardLocator.ring(members);
+        List<Move> moves = new ArrayList<>();
+        // 移動中に登録されたユーザーも拾うため、移動がなくなるまで走査する（最大2回）
+        for (int pass = 0; pass < 2; pass++) {
+            List<Move> passMoves = new ArrayList<>();
+            for (Map.Entry<String, String> user : locateUsers().entrySet()) {
+                String target = next.shardFor(user.getKey());
+                if (!target.equals(user.getValue())) {
+                    adopt(user.getKey(), user.getValue());
+                    passMoves.add(moveUser(user.getKey(), target));
+                }
+            }
+            moves.addAll(passMoves);
+            if (passMoves.isEmpty()) {
+                break;
+            }
+        }
+        try {
+            transactional(directory(), connection -> {
+                try (Statement statement = connection.createStatement()) {
+                    statement.executeUpdate("DELETE FROM shard_ring");
+                }
+                try (PreparedStatement insert = connection.prepareStatement("INSERT INTO shard_ring (shard) VALUES (?)")) {
+                    for (String member : next.shards()) {
+                        insert.setString(1, member);
+                        insert.addBatch();
+                    }
+                    insert.executeBatch();
+                }
+                // 新しいリングと一致する割り当ては不要になる
+                try (Statement statement = connection.createStatement();
+                     ResultSet rows = statement.executeQuery("SELECT username, shard FROM shard_assignment");
+                     PreparedStatement delete = connection.prepareStatement("DELETE FROM shard_assignment WHERE username = ?")) {
+                    while (rows.next()) {
+                        if (next.shardFor(rows.getString(1)).equals(rows.getString(2))) {
+                            delete.setString(1, rows.getString(1));
+                            delete.addBatch();
+                        }
+                    }
+                    delete.executeBatch();
+                }
+                return null;
+            });
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to save the shard ring", e);
+        }
+        load();
+        return moves;
+    }
+
+    // status : () -> Map<String, Object>  (シャードごとのユーザー数とリング)
+    public Map<String, Object> status() {
+        Map<String, Integer> users = new LinkedHashMap<>();
+        for (String shard : shards.keySet()) {
+            users.put(shard, 0);
+        }
+        locateUsers().values().forEach(shard -> users.merge(shard, 1, Integer::sum));
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("ring", shardLocator.ring().shards());
+        status.put("users", users);
+        return status;
+    }
+
+    // locateUsers : () -> Map<String, String>  (ユーザー名 → 実際に行があるシャード)
+    private Map<String, String> locateUsers() {
+        Map<String, String> located = new LinkedHashMap<>();
+        for (Map.Entry<String, ? extends DataSource> shard : shards.entrySet()) {
+            try (Connection connection = shard.getValue().getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rows = statement.executeQuery("SELECT username FROM users ORDER BY username")) {
+                while (rows.next()) {
+                    // 削除に失敗した移動元の行より、割り当て先を優先する
+                    String username = rows.getString(1);
+                    if (!located.containsKey(username) || shardLocator.shardFor(username).equals(shard.getKey())) {
+                        located.put(username, shard.getKey());
+                    }
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException("Failed to list users on " + shard.getKey(), e);
+            }
+        }
+        return located;
+    }
+
+    // リングの外で見つかったユーザー（移動中に旧リングで登録された等）を、まず今の場所に割り当てる
+    private void adopt(String username, String shard) {
+        if (!shardLocator.shardFor(username).equals(shard)) {
+            try {
+                saveAssignment(username, shard);
+            } catch (SQLException e) {
+                throw new IllegalStateException("Failed to assign " + username + " to " + shard, e);
+            }
+            shardLocator.assign(username, shard);
+        }
+    }
+
+    private int copy(String username, DataSource source, DataSource target) throws SQLException {
+        return transactional(target, targetConnection -> {
+            // 以前に中断した移動の残りを置き換える
+            delete(targetConnection, username);
+            int copied = 0;
+            try (Connection sourceConnection = source.getConnection()) {
+                for (int i = 0; i < COPY_QUERIES.size(); i++) {
+                    copied += copyRows(sourceConnection, targetConnection, COPY_QUERIES.get(i), COPY_TABLES.get(i), username);
+                }
+            }
+            return copied;
+        });
+    }
+
+    // copyRows : 列名はResultSetMetaDataから取り、IDを含めてそのまま挿入する
+    private int copyRows(Connection source, Connection target, String query, String table, String username)
+            throws SQLException {
+        try (PreparedStatement select = source.prepareStatement(query)) {
+            select.setString(1, username);
+            try (ResultSet rows = select.executeQuery()) {
+                ResultSetMetaData meta = rows.getMetaData();
+                int columns = meta.getColumnCount();
+                List<String> names = new ArrayList<>();
+                for (int c = 1; c <= columns; c++) {
+                    names.add(meta.getColumnLabel(c));
+                }
+                String insert = "INSERT INTO " + table + " (" + String.join(", ", names) + ") VALUES ("
+                        + String.join(", ", Collections.nCopies(columns, "?")) + ")";
+                int count = 0;
+                try (PreparedStatement statement = target.prepareStatement(insert)) {
+                    while (rows.next()) {
+                        for (int c = 1; c <= columns; c++) {
+                            statement.setObject(c, rows.getObject(c));
+                        }
+                        statement.addBatch();
+                        count++;
+                    }
+                    if (count > 0) {
+                        statement.executeBatch();
+                    }
+                }
+                return count;
+            }
+        }
+    }
+
+    private static Void delete(Connection connection, String username) throws SQLException {
+        for (String sql : DELETES) {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setString(1, username);
+                statement.executeUpdate();
+            }
+        }
+        return null;
+    }
+
+    // saveAssignment : リングどおりの場所なら割り当て行を消す
+    private void saveAssignment(String username, String shard) throws SQLException {
+        transactional(directory(), connection -> {
+            try (PreparedStatement delete = connection.prepareStatement("DELETE FROM shard_assignment WHERE username = ?")) {
+                delete.setString(1, username);
+                delete.executeUpdate();
+            }
+            if (!shardLocator.ring().shardFor(username).equals(shard)) {
+                try (PreparedStatement insert = connection.prepareStatement(
+                        "INSERT INTO shard_assignment (username, shard) VALUES (?, ?)")) {
+                    insert.setString(1, username);
+                    insert.setString(2, shard);
+                    insert.executeUpdate();
+                }
+            }
+            return null;
+        });
+    }
+
+    private DataSource directory() {
+        return shards.get(ShardLocator.DEFAULT_SHARD);
+    }
+
+    private interface SqlWork<T> {
+        T apply(Connection connection) throws SQLException;
+    }
+
+    private static <T> T transactional(DataSource dataSource, SqlWork<T> work) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                T result = work.apply(connection);
+                connection.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.multilang.memo.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical loads: the first caller for a key runs the loader, callers
+ * that arrive while it is running wait for and share its result (or exception). Nothing is
+ * kept after the load completes, so this is not a cache. Counts memo.coalesce.calls with
+ * result=leader|shared per operation; shared / (leader + shared) is the coalescing ratio.
+ */
+public class SingleFlight<K> {
+
+    private final ConcurrentMap<K, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter shared;
+
+    public SingleFlight(String operation, MeterRegistry meterRegistry) {
+        this.leaders = meterRegistry.counter("memo.coalesce.calls", "operation", operation, "result", "leader");
+        this.shared = meterRegistry.counter("memo.coalesce.calls", "operation", operation, "result", "shared");
+    }
+
+    // execute : (K, Supplier<V>) -> V
+    @SuppressWarnings("unchecked")
+    public <V> V execute(K key, Supplier<V> loader) {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            shared.increment();
+            return (V) await(running);
+        }
+        leaders.increment();
+        try {
+            V value = loader.get();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            // 完了後に来た呼び出しは新しく読み込む
+            inFlight.remove(key, mine);
+        }
+    }
+
+    // inFlightCount : () -> int  (テスト用)
+    int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private static Object await(CompletableFuture<Object> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            // 先頭の呼び出しと同じ例外（ResourceNotFoundException等）をそのまま投げる
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.multilang.memo.service;
+
+import com.multilang.memo.dto.ConceptView;
+import com.multilang.memo.dto.SyncResponse;
+import com.multilang.memo.entity.ConceptChange;
+import com.multilang.memo.repository.ConceptChangeRepository;
+import com.multilang.memo.repository.ConceptRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@Timed("memo.service")
+@Transactional(readOnly = true)
+public class SyncService {
+
+    private final ConceptChangeRepository changeRepository;
+    private final ConceptRepository conceptRepository;
+    private final ConceptReadService conceptReadService;
+    private final DataVersionService dataVersionService;
+
+    public SyncService(ConceptChangeRepository changeRepository, ConceptRepository conceptRepository,
+                       ConceptReadService conceptReadService, DataVersionService dataVersionService) {
+        this.changeRepository = changeRepository;
+        this.conceptRepository = conceptRepository;
+        this.conceptReadService = conceptReadService;
+        this.dataVersionService = dataVersionService;
+    }
+
+    // changesSince : (String, long) -> SyncResponse
+    // since以降の変更だけを返す。since=0（初回）や不明なチェックポイントは全件
+    public SyncResponse changesSince(String username, long since) {
+        // 版数を先に読む。その後の変更は次回のsince以降として必ず返る
+        long checkpoint = dataVersionService.currentVersion(username);
+        if (since == checkpoint) {
+            return new SyncResponse(false, List.of(), List.of(), List.of(), checkpoint);
+        }
+        if (since <= 0 || since > checkpoint) {
+            return fullResync(username, checkpoint);
+        }
+        Set<Long> upserted = new LinkedHashSet<>();
+        Set<Long> deletedConcepts = new LinkedHashSet<>();
+        List<Long> deletedWords = new ArrayList<>();
+        for (ConceptChange change : changeRepository.findChanges(username, since, checkpoint)) {
+            switch (change.getEntityType()) {
+                case ALL -> {
+                    return fullResync(username, checkpoint);
+                }
+                case CONCEPT -> {
+                    if (change.isDeleted()) {
+                        deletedConcepts.add(change.getConceptId());
+                    } else {
+                        upserted.add(change.getConceptId());
+                    }
+                }
+                case WORD -> {
+                    if (change.isDeleted()) {
+                        deletedWords.add(change.getEntityId());
+                    }
+                    // Wordの変更は所属Conceptのwordsの変更として返す
+                    upserted.add(change.getConceptId());
+                }
+            }
+        }
+        upserted.removeAll(deletedConcepts);
+        // 記録後にさらに削除されたConceptは行が無いので含まれない（その削除は次回返る）
+        List<ConceptView> concepts = upserted.isEmpty()
+                ? List.of()
+                : ConceptReadService.group(username, conceptRepository.findRowsByIdIn(upserted, username).iterator());
+        return new SyncResponse(false, concepts, List.copyOf(deletedConcepts), deletedWords, checkpoint);
+    }
+
+    private SyncResponse fullResync(String username, long checkpoint) {
+        return new SyncResponse(true, conceptReadService.getAllConcepts(username, null), List.of(), List.of(), checkpoint);
+    }
+}
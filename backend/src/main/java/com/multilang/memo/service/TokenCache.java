@@ -0,0 +1,68 @@
+package com.multilang.memo.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.multilang.memo.entity.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Bounded, expiring token → user cache consulted by AuthService before hitting the users table.
+ * Entries are evicted explicitly on logout / re-registration and carry the token generation,
+ * so invalidate-all is honored without touching the cache; the TTL only bounds how long a
+ * logout made by another instance can go unnoticed.
+ */
+@Component
+public class TokenCache {
+
+    public record Entry(Long userId, String username, LocalDateTime expiresAt, long generation) {
+
+        // toUser : String -> User  (DBから読み直さない参照専用のUser)
+        User toUser(String token) {
+            User user = new User();
+            user.setId(userId);
+            user.setUsername(username);
+            user.setToken(token);
+            user.setExpiresAt(expiresAt);
+            user.setTokenGeneration(generation);
+            return user;
+        }
+    }
+
+    private final Cache<String, Entry> cache;
+
+    public TokenCache(@Value("${auth.token-cache.max-size:10000}") long maxSize,
+                      @Value("${auth.token-cache.ttl:60s}") Duration ttl,
+                      MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        // cache.gets{result=hit|miss}, cache.evictions などを /actuator/metrics に公開
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "auth.tokens");
+    }
+
+    public Entry get(String token) {
+        return cache.getIfPresent(token);
+    }
+
+    // contains : String -> boolean  (RateLimitFilter用。ヒット率の統計に数えない)
+    public boolean contains(String token) {
+        return cache.asMap().containsKey(token);
+    }
+
+    public void put(User user) {
+        cache.put(user.getToken(), new Entry(user.getId(), user.getUsername(), user.getExpiresAt(),
+                user.getTokenGeneration()));
+    }
+
+    public void evict(String token) {
+        cache.invalidate(token);
+    }
+}
@@ -0,0 +1,76 @@
+package com.multilang.memo.service;
+
+import com.multilang.memo.config.RoutingContext;
+import com.multilang.memo.config.ShardLocator;
+import com.multilang.memo.entity.TokenEpoch;
+import com.multilang.memo.repository.TokenEpochRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * Global token generation checked by AuthService. A token is valid only while the user's
+ * tokenGeneration (the per-user generation) is at least the global generation, so
+ * invalidating every session is a single-row UPDATE, and invalidating one user's session is
+ * a single UPDATE that drops that user's generation below every global one. The value is held in memory and re-read after refresh-interval, which
+ * bounds how long an invalidation made by another instance can go unnoticed. With username
+ * sharding the row lives on ShardLocator.DEFAULT_SHARD.
+ */
+@Service
+public class TokenEpochService {
+
+    private static final Long GLOBAL_ID = 1L;
+
+    private record Snapshot(long generation, long readAt) {
+    }
+
+    private final TokenEpochRepository tokenEpochRepository;
+    private final long refreshIntervalNanos;
+    private volatile Snapshot snapshot;
+
+    public TokenEpochService(TokenEpochRepository tokenEpochRepository,
+                             @Value("${auth.token-epoch.refresh-interval:5s}") Duration refreshInterval) {
+        this.tokenEpochRepository = tokenEpochRepository;
+        this.refreshIntervalNanos = refreshInterval.toNanos();
+    }
+
+    // current : () -> long  (メモリ上の値。refresh-intervalを過ぎていればDBから読み直す)
+    public long current() {
+        Snapshot current = snapshot;
+        if (current == null || System.nanoTime() - current.readAt() > refreshIntervalNanos) {
+            return reload();
+        }
+        return current.generation();
+    }
+
+    // reload : () -> long  (トークン発行時など、他インスタンスの更新を必ず反映したい場合に使う)
+    public long reload() {
+        long generation = RoutingContext.callOnShard(ShardLocator.DEFAULT_SHARD,
+                () -> tokenEpochRepository.findGenerationById(GLOBAL_ID).orElse(0L));
+        Snapshot previous = snapshot;
+        // 世代は減らないので、遅れて読んだ古い値で巻き戻さない
+        if (previous != null && previous.generation() > generation) {
+            generation = previous.generation();
+        }
+        snapshot = new Snapshot(generation, System.nanoTime());
+        return generation;
+    }
+
+    // advance : () -> long  (全トークンを無効化し、新しい世代を返す)
+    public long advance() {
+        RoutingContext.callOnShard(ShardLocator.DEFAULT_SHARD, () -> {
+            if (tokenEpochRepository.incrementGeneration(GLOBAL_ID) == 0) {
+                try {
+                    tokenEpochRepository.save(new TokenEpoch(GLOBAL_ID, 1));
+                } catch (DataIntegrityViolationException e) {
+                    // 別インスタンスが同時に行を作成した
+                    tokenEpochRepository.incrementGeneration(GLOBAL_ID);
+                }
+            }
+            return null;
+        });
+        return reload();
+    }
+}
@@ -0,0 +1,115 @@
+package com.multilang.memo.service;
+
+import com.multilang.memo.config.RoutingContext;
+import com.multilang.memo.config.ShardLocator;
+import com.multilang.memo.entity.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Write-behind for the sliding token expiry extended by AuthService.verifyToken.
+ * Extensions are coalesced per user in memory and written by one batched UPDATE every
+ * flush-interval. A row whose expiry was extended within min-interval is not rewritten.
+ * The UPDATE only moves a still-valid expiry forward for the same token, so a logout or
+ * re-registration that happens before the flush is never undone. With username sharding
+ * one batch is written per shard.
+ */
+@Component
+public class TokenExpiryWriter {
+
+    private static final String UPDATE_EXPIRY =
+            "UPDATE users SET expires_at = ? WHERE id = ? AND token = ? AND expires_at > ? AND expires_at < ?";
+
+    private record Pending(String username, String token, LocalDateTime expiresAt) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardLocator shardLocator;
+    private final Duration minInterval;
+    private final ConcurrentMap<Long, Pending> pending = new ConcurrentHashMap<>();
+    private final Counter scheduled;
+    private final Counter skipped;
+    private final Counter written;
+
+    public TokenExpiryWriter(JdbcTemplate jdbcTemplate, ShardLocator shardLocator,
+                             @Value("${auth.token-expiry.min-interval:1h}") Duration minInterval,
+                             MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardLocator = shardLocator;
+        this.minInterval = minInterval;
+        this.scheduled = meterRegistry.counter("auth.token.expiry.extensions", "result", "scheduled");
+        this.skipped = meterRegistry.counter("auth.token.expiry.extensions", "result", "skipped");
+        this.written = meterRegistry.counter("auth.token.expiry.rows.written");
+    }
+
+    // extend : (User, LocalDateTime) -> boolean
+    // 保存済みの期限がmin-interval以内に延長されていれば何もしない
+    public boolean extend(User user, LocalDateTime expiresAt) {
+        if (user.getExpiresAt().isAfter(expiresAt.minus(minInterval))) {
+            skipped.increment();
+            return false;
+        }
+        pending.merge(user.getId(), new Pending(user.getUsername(), user.getToken(), expiresAt),
+                (previous, next) -> previous.token().equals(next.token())
+                        && previous.expiresAt().isAfter(next.expiresAt()) ? previous : next);
+        scheduled.increment();
+        return true;
+    }
+
+    // cancel : Long -> void  (logout時。未反映の延長を捨てる)
+    public void cancel(Long userId) {
+        pending.remove(userId);
+    }
+
+    // flush : () -> void
+    @Scheduled(fixedDelayString = "${auth.token-expiry.flush-interval:5s}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, List<Object[]>> rowsByShard = new HashMap<>();
+        for (Long userId : List.copyOf(pending.keySet())) {
+            Pending entry = pending.remove(userId);
+            if (entry != null) {
+                rowsByShard.computeIfAbsent(shardLocator.shardFor(entry.username()), shard -> new ArrayList<>())
+                        .add(new Object[]{entry.expiresAt(), userId, entry.token(), now, entry.expiresAt()});
+            }
+        }
+        int updated = 0;
+        for (Map.Entry<String, List<Object[]>> rows : rowsByShard.entrySet()) {
+            int[] counts = RoutingContext.callOnShard(rows.getKey(),
+                    () -> jdbcTemplate.batchUpdate(UPDATE_EXPIRY, rows.getValue()));
+            for (int count : counts) {
+                // rewriteBatchedStatements使用時は件数が不明（SUCCESS_NO_INFO = -2）になる
+                updated += Math.max(count, 0);
+            }
+        }
+        written.increment(updated);
+    }
+
+    // 停止時に未反映の延長を書き出す
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    // pendingCount : () -> int  (テスト・監視用)
+    int pendingCount() {
+        return pending.size();
+    }
+}
@@ -4,35 +4,51 @@ import com.multilang.memo.entity.Concept;
 import com.multilang.memo.entity.Word;
 import com.multilang.memo.exception.ResourceNotFoundException;
 import com.multilang.memo.repository.WordRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 @Service
+@Timed("memo.service")
 public class WordService {
     private final WordRepository wordRepository;
     private final  ConceptService conceptService;
+    private final ConceptSearchIndex searchIndex;
+    private final ChangeLogService changeLog;
 
-    public WordService(WordRepository wordRepository, ConceptService conceptService){
+    public WordService(WordRepository wordRepository, ConceptService conceptService, ConceptSearchIndex searchIndex,
+                       ChangeLogService changeLog){
         this.wordRepository=wordRepository;
         this.conceptService=conceptService;
+        this.searchIndex=searchIndex;
+        this.changeLog=changeLog;
     }
 
     // addWord: long ,Word, String -> Word
     // conceptId should  be username's
+    // 書き込み系は変更履歴（data_version）と同じトランザクションでコミットする
+    @Transactional
     public Word addWord(Long conceptId, Word word, String username){
         Concept concept = conceptService.getConceptById(conceptId,username);
         word.setConcept(concept);
-        return wordRepository.save(word);
+        Word saved = wordRepository.save(word);
+        long version = changeLog.wordChanged(username, conceptId, saved.getId());
+        searchIndex.putWord(username, conceptId, saved, version);
+        return saved;
     }
 
     //getAllWords : (Long,String) -> List<Word>
+    // 読み取り専用トランザクション（db.replicas.enabled時はレプリカから読む）
+    @Transactional(readOnly = true)
     public List<Word> getAllWords(Long conceptId,String username){
-        conceptService.getConceptById(conceptId,username);
-        return wordRepository.findByConceptId(conceptId);
+        // 所有者確認で読み込んだConceptのwordsをそのまま返す（2次キャッシュから組み立てられる）
+        return conceptService.getConceptById(conceptId,username).getWords();
     }
 
     //gotWord: (Long, Long , String) -> Word
+    @Transactional(readOnly = true)
     public Word getWord(Long conceptId,Long wordId,String username){
         conceptService.getConceptById(conceptId,username);
         return wordRepository.findById(wordId)
@@ -42,6 +58,7 @@ public class WordService {
     }
 
     //updateWord : (Long, Long, Word, String )-> Word
+    @Transactional
     public  Word updateWord(Long conceptId,Long wordId,Word word, String username){
         conceptService.getConceptById(conceptId,username);
         Word existing=wordRepository.findById(wordId)
@@ -52,12 +69,20 @@ public class WordService {
         existing.setLanguage(word.getLanguage());
         existing.setIpa(word.getIpa());
         existing.setNuance(word.getNuance());
-        return wordRepository.save(existing);
+        Word saved = wordRepository.save(existing);
+        long version = changeLog.wordChanged(username, conceptId, wordId);
+        searchIndex.putWord(username, conceptId, saved, version);
+        return saved;
     }
 
     //deleteWord:(Long , Long , String )->void
+    @Transactional
     public void deleteWord(Long conceptId,Long wordId,String username){
-        conceptService.getConceptById(conceptId,username);
+        Concept concept = conceptService.getConceptById(conceptId,username);
+        // 同じトランザクションで読み込んだConceptのwordsから外す（カスケードで再保存されないように）
+        concept.getWords().removeIf(word -> wordId.equals(word.getId()));
         wordRepository.deleteById(wordId);
+        long version = changeLog.wordDeleted(username, conceptId, wordId);
+        searchIndex.removeWord(username, conceptId, wordId, version);
     }
 }
@@ -0,0 +1,73 @@
+package com.multilang.memo.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = 10_000_000L;
+    private static final long SLOW = 100_000_000L;
+
+    @Test
+    void shouldRejectRequests_WhenLimitIsReached() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 0.2, 1.5);
+
+        // When & Then
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        limiter.release();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.inFlight()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldRaiseLimitWhileLatencyIsStable_AndLowerItWhenRequestsQueue() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 5, 200, 0.2, 1.5);
+
+        // When: 上限いっぱいの負荷で、処理時間が一定
+        for (int i = 0; i < 5; i++) {
+            saturate(limiter, FAST);
+        }
+        int raised = limiter.limit();
+
+        // When: 処理時間が10倍に伸びる
+        for (int i = 0; i < 5; i++) {
+            saturate(limiter, SLOW);
+        }
+
+        // Then
+        assertThat(raised).isGreaterThan(20);
+        assertThat(limiter.limit()).isEqualTo(5);
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    @Test
+    void shouldKeepLimit_WhenServerIsNotSaturated() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 5, 200, 0.2, 1.5);
+
+        // When: 同時に1件ずつしか来ない
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire();
+            limiter.onSample(FAST);
+        }
+
+        // Then
+        assertThat(limiter.limit()).isEqualTo(20);
+    }
+
+    private void saturate(AdaptiveConcurrencyLimiter limiter, long rttNanos) {
+        int acquired = 0;
+        while (limiter.tryAcquire()) {
+            acquired++;
+        }
+        for (int i = 0; i < acquired; i++) {
+            limiter.onSample(rttNanos);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.multilang.memo.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConsistentHashRingTest {
+
+    private static final int KEYS = 30_000;
+
+    @Test
+    void shouldSpreadUsernamesEvenly_AcrossShards() {
+        // Given
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("shard-0", "shard-1", "shard-2"), 128);
+
+        // When
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            counts.merge(ring.shardFor("user-" + i), 1, Integer::sum);
+        }
+
+        // Then
+        assertThat(counts).hasSize(3);
+        assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(KEYS / 3 * 8 / 10, KEYS / 3 * 12 / 10));
+    }
+
+    @Test
+    void shouldMoveOnlyAboutOneQuarterOfUsernames_ToTheNewShard_WhenFourthShardIsAdded() {
+        // Given
+        ConsistentHashRing before = new ConsistentHashRing(List.of("shard-0", "shard-1", "shard-2"), 128);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("shard-0", "shard-1", "shard-2", "shard-3"), 128);
+
+        // When
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            String key = "user-" + i;
+            if (!before.shardFor(key).equals(after.shardFor(key))) {
+                moved++;
+                // Then: 既存のシャード間では移動しない
+                assertThat(after.shardFor(key)).isEqualTo("shard-3");
+            }
+        }
+
+        // Then
+        assertThat(moved).isBetween(KEYS * 15 / 100, KEYS * 35 / 100);
+    }
+
+    @Test
+    void shouldReturnSameShard_ForSameUsername() {
+        // Given
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("shard-0", "shard-1"), 128);
+        ConsistentHashRing rebuilt = new ConsistentHashRing(List.of("shard-1", "shard-0"), 128);
+
+        // When & Then
+        assertThat(ring.shardFor("user1")).isEqualTo(ring.shardFor("user1"));
+        assertThat(rebuilt.shardFor("user1")).isEqualTo(ring.shardFor("user1"));
+    }
+}
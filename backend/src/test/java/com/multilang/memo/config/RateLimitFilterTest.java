@@ -0,0 +1,77 @@
+package com.multilang.memo.config;
+
+import com.multilang.memo.entity.User;
+import com.multilang.memo.service.TokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private TokenCache tokenCache;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        tokenCache = new TokenCache(100, Duration.ofMinutes(1), new SimpleMeterRegistry());
+        // Given: refill is negligible for the duration of the test
+        filter = new RateLimitFilter(new RateLimitFilter.Limit(1, 0.001), new RateLimitFilter.Limit(2, 0.001),
+                tokenCache, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void shouldLimitEachKnownTokenSeparately() throws Exception {
+        // Given
+        cacheToken("user1", "token-1");
+        cacheToken("user2", "token-2");
+
+        // When & Then
+        assertThat(status("/api/concepts", "token-1")).isEqualTo(200);
+        assertThat(status("/api/concepts", "token-1")).isEqualTo(200);
+        assertThat(status("/api/concepts", "token-1")).isEqualTo(429);
+        assertThat(status("/api/concepts", "token-2")).isEqualTo(200);
+    }
+
+    @Test
+    void shouldShareIpBucket_WhenTokensAreUnknown() throws Exception {
+        // When & Then: 毎回違うトークンでも同じIPのバケットから消費する
+        assertThat(status("/api/concepts", "made-up-1")).isEqualTo(200);
+        assertThat(status("/api/concepts", "made-up-2")).isEqualTo(200);
+        assertThat(status("/api/concepts", "made-up-3")).isEqualTo(429);
+    }
+
+    @Test
+    void shouldLimitRegisterPerIp_WithPublicLimit() throws Exception {
+        // When & Then
+        assertThat(status("/api/auth/register", null)).isEqualTo(200);
+        assertThat(status("/api/auth/register", null)).isEqualTo(429);
+        assertThat(status("/api/public/search", null)).isEqualTo(429);
+    }
+
+    private int status(String path, String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        if (token != null) {
+            request.addHeader("Authorization", "Bearer " + token);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+
+    private void cacheToken(String username, String token) {
+        User user = new User();
+        user.setId((long) username.hashCode());
+        user.setUsername(username);
+        user.setToken(token);
+        user.setExpiresAt(LocalDateTime.now().plusDays(1));
+        tokenCache.put(user);
+    }
+}
@@ -0,0 +1,95 @@
+package com.multilang.memo.config;
+
+import com.multilang.memo.dto.ChangeEvent;
+import com.multilang.memo.entity.ConceptChange.EntityType;
+import com.multilang.memo.service.ChangeLogService;
+import com.multilang.memo.service.ReadYourWritesTracker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two embedded H2 databases stand in for the primary and the replica; the replica's
+ * users.data_version is advanced by hand to simulate replication.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private final String suffix = UUID.randomUUID().toString();
+    private DataSource replica;
+    private ReadYourWritesTracker tracker;
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("primary-" + suffix);
+        replica = database("replica-" + suffix);
+        tracker = new ReadYourWritesTracker(true, Duration.ofSeconds(30));
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primary);
+        proxy.setReadOnlyDataSource(
+                new ReplicaRoutingDataSource(primary, List.of(replica), tracker, new SimpleMeterRegistry()));
+        dataSource = proxy;
+    }
+
+    @AfterEach
+    void tearDown() {
+        RoutingContext.clear();
+    }
+
+    @Test
+    void shouldReadFromReplica_AndWriteToPrimary() throws SQLException {
+        // Given
+        RoutingContext.bindUser("user1");
+
+        // When & Then
+        assertThat(databaseUrl(true)).contains("replica-");
+        assertThat(databaseUrl(false)).contains("primary-");
+    }
+
+    @Test
+    void shouldReadFromPrimary_UntilReplicaHasCaughtUpWithUsersWrite() throws SQLException {
+        // Given: user1 committed version 2 on the primary; the replica is still at 1
+        RoutingContext.bindUser("user1");
+        tracker.onCommitted(new ChangeLogService.Committed("user1",
+                new ChangeEvent(EntityType.CONCEPT, 1L, 1L, 2L, false)));
+
+        // When & Then
+        assertThat(databaseUrl(true)).contains("primary-");
+
+        new JdbcTemplate(replica).update("UPDATE users SET data_version = 2 WHERE username = 'user1'");
+        assertThat(databaseUrl(true)).contains("replica-");
+
+        // Other users are not affected
+        RoutingContext.bindUser("user2");
+        assertThat(databaseUrl(true)).contains("replica-");
+    }
+
+    // 読み取り専用トランザクションと同じく、最初の文の前にreadOnlyを設定する
+    private String databaseUrl(boolean readOnly) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setReadOnly(readOnly);
+            return connection.getMetaData().getURL();
+        }
+    }
+
+    private DataSource database(String name) {
+        DriverManagerDataSource database =
+                new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(database);
+        jdbc.execute("CREATE TABLE users (username VARCHAR(50) PRIMARY KEY, data_version BIGINT NOT NULL)");
+        jdbc.update("INSERT INTO users (username, data_version) VALUES ('user1', 1), ('user2', 1)");
+        return database;
+    }
+}
@@ -0,0 +1,116 @@
+package com.multilang.memo.config;
+
+import com.multilang.memo.entity.Concept;
+import com.multilang.memo.entity.User;
+import com.multilang.memo.service.AuthService;
+import com.multilang.memo.service.ConceptService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Read/write splitting through the real request path: the bearer token binds the user in
+ * AuthService, and ConceptReadService's read-only JPA transaction gets its connection from
+ * the replica. Two embedded H2 databases stand in for the primary and the replica;
+ * replication is simulated by copying the primary into the replica with SCRIPT / RUNSCRIPT.
+ */
+// テスト用のapplication.propertiesは本番設定を引き継がないため、open-in-viewの無効化をここで再現する
+@SpringBootTest(properties = {
+        "spring.jpa.open-in-view=false",
+        "db.replicas.enabled=true",
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "db.replicas.urls=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureMockMvc
+class ReplicaRoutingTransactionTest {
+
+    private static final String USERNAME = "replica-user";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private AuthService authService;
+    @Autowired
+    private ConceptService conceptService;
+    @Autowired
+    private ReadReplicaConfig.Pools pools;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @TempDir
+    private Path snapshotDir;
+
+    @AfterEach
+    void tearDown() {
+        RoutingContext.clear();
+    }
+
+    @Test
+    void shouldReadFromReplica_AndFromPrimaryRightAfterUsersWrite() throws Exception {
+        // Given: a concept written on the primary and replicated
+        String token = authService.register(USERNAME).getToken();
+        RoutingContext.clear();
+        conceptService.createConcept(concept("replicated"), user());
+        replicate();
+        double replicaReads = reads("replica");
+
+        // When & Then: the read-only transaction of GET /api/concepts runs on the replica
+        String body = getConcepts(token);
+        assertThat(body).contains("replicated");
+        assertThat(reads("replica")).isGreaterThan(replicaReads);
+
+        // Given: a write the replica has not received yet
+        conceptService.createConcept(concept("not-yet-replicated"), user());
+        double stickyReads = reads("primary");
+
+        // When & Then: the same user's next read goes to the primary and sees the write
+        body = getConcepts(token);
+        assertThat(body).contains("replicated", "not-yet-replicated");
+        assertThat(reads("primary")).isGreaterThan(stickyReads);
+    }
+
+    private String getConcepts(String token) throws Exception {
+        return mockMvc.perform(get("/api/concepts").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    // replicate : () -> void  (プライマリの内容をレプリカに丸ごと写す)
+    private void replicate() {
+        String script = snapshotDir.resolve("primary.sql").toString();
+        new JdbcTemplate(pools.primary()).execute("SCRIPT TO '" + script + "'");
+        JdbcTemplate replica = new JdbcTemplate(pools.replicas().get(0));
+        replica.execute("DROP ALL OBJECTS");
+        replica.execute("RUNSCRIPT FROM '" + script + "'");
+    }
+
+    private double reads(String target) {
+        return meterRegistry.find("memo.db.reads").tag("target", target).counters().stream()
+                .mapToDouble(counter -> counter.count())
+                .sum();
+    }
+
+    private User user() {
+        User user = new User();
+        user.setUsername(USERNAME);
+        return user;
+    }
+
+    private Concept concept(String name) {
+        Concept concept = new Concept();
+        concept.setName(name);
+        return concept;
+    }
+}
@@ -0,0 +1,20 @@
+package com.multilang.memo.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    @Test
+    void shouldRejectRequests_WhenBucketIsEmpty() {
+        // Given: refill is negligible for the duration of the test
+        TokenBucket bucket = new TokenBucket(2, 0.001);
+
+        // When & Then
+        assertThat(bucket.tryConsume()).isTrue();
+        assertThat(bucket.tryConsume()).isTrue();
+        assertThat(bucket.tryConsume()).isFalse();
+        assertThat(bucket.secondsUntilAvailable()).isPositive();
+    }
+}
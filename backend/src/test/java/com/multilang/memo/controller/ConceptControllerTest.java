@@ -1,11 +1,19 @@
 package com.multilang.memo.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.multilang.memo.dto.ConceptPage;
+import com.multilang.memo.dto.ConceptView;
+import com.multilang.memo.dto.ImportResult;
+import com.multilang.memo.dto.Suggestion;
 import com.multilang.memo.entity.Concept;
 import com.multilang.memo.entity.User;
 import com.multilang.memo.exception.ResourceNotFoundException;
 import com.multilang.memo.service.AuthService;
+import com.multilang.memo.service.ConceptExportService;
+import com.multilang.memo.service.ConceptImportService;
+import com.multilang.memo.service.ConceptReadService;
 import com.multilang.memo.service.ConceptService;
+import com.multilang.memo.service.DataVersionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,9 +21,19 @@ import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import tools.jackson.dataformat.cbor.CBORMapper;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -33,9 +51,21 @@ class ConceptControllerTest {
     @MockitoBean
     private ConceptService conceptService;
 
+    @MockitoBean
+    private ConceptReadService conceptReadService;
+
     @MockitoBean
     private AuthService authService;
 
+    @MockitoBean
+    private ConceptExportService conceptExportService;
+
+    @MockitoBean
+    private ConceptImportService conceptImportService;
+
+    @MockitoBean
+    private DataVersionService dataVersionService;
+
     private static final String VALID_TOKEN = "valid-token-123";
     private static final String AUTH_HEADER = "Bearer " + VALID_TOKEN;
     private static final String USERNAME = "testuser";
@@ -54,9 +84,9 @@ class ConceptControllerTest {
     @Test
     void shouldGetAllConcepts_WhenValidAuthProvided() throws Exception {
         // Given
-        Concept c1 = createConcept(1L, USERNAME, "concept1");
-        Concept c2 = createConcept(2L, USERNAME, "concept2");
-        when(conceptService.getAllConcepts(USERNAME, null)).thenReturn(Arrays.asList(c1, c2));
+        ConceptView c1 = createView(1L, "concept1");
+        ConceptView c2 = createView(2L, "concept2");
+        when(conceptReadService.getAllConcepts(USERNAME, null, 0L)).thenReturn(Arrays.asList(c1, c2));
 
         // When & Then
         mockMvc.perform(get("/api/concepts")
@@ -66,11 +96,83 @@ class ConceptControllerTest {
             .andExpect(jsonPath("$[1].name").value("concept2"));
     }
 
+    @Test
+    void shouldReturnCbor_WhenAcceptIsCbor() throws Exception {
+        // Given
+        when(conceptReadService.getAllConcepts(USERNAME, null, 0L)).thenReturn(List.of(createView(1L, "concept1")));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/concepts")
+                .header("Authorization", AUTH_HEADER)
+                .accept("application/cbor"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("application/cbor"))
+            .andExpect(header().stringValues("Vary", hasItem("Authorization, Accept")))
+            .andReturn();
+
+        // Then
+        List<?> body = CBORMapper.builder().build().readValue(result.getResponse().getContentAsByteArray(), List.class);
+        assertThat(((Map<?, ?>) body.get(0)).get("name")).isEqualTo("concept1");
+    }
+
+    @Test
+    void shouldReturnETag_WhenConceptsListed() throws Exception {
+        // Given
+        when(dataVersionService.currentVersion(USERNAME)).thenReturn(7L);
+        when(conceptReadService.getAllConcepts(USERNAME, null, 7L)).thenReturn(Arrays.asList(createView(1L, "concept1")));
+
+        // When & Then
+        mockMvc.perform(get("/api/concepts")
+                .header("Authorization", AUTH_HEADER))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", matchesPattern("\"[0-9a-f]{32}\"")))
+            .andExpect(header().stringValues("Vary", hasItem("Authorization, Accept")));
+    }
+
+    @Test
+    void shouldReturnNotModified_WhenETagMatchesDataVersion() throws Exception {
+        // Given
+        when(dataVersionService.currentVersion(USERNAME)).thenReturn(7L);
+        String etag = listETag(AUTH_HEADER);
+        clearInvocations(conceptReadService);
+
+        // When & Then
+        mockMvc.perform(get("/api/concepts/1")
+                .header("Authorization", AUTH_HEADER)
+                .header("If-None-Match", etag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string("ETag", etag))
+            .andExpect(header().stringValues("Vary", hasItem("Authorization, Accept")));
+
+        verifyNoInteractions(conceptReadService);
+    }
+
+    @Test
+    void shouldReturnOk_WhenAnotherUserSendsSameETag() throws Exception {
+        // Given
+        User otherUser = new User();
+        otherUser.setId(2L);
+        otherUser.setUsername("otheruser");
+        when(authService.authenticate("Bearer other-token")).thenReturn(otherUser);
+        when(dataVersionService.currentVersion(USERNAME)).thenReturn(7L);
+        when(dataVersionService.currentVersion("otheruser")).thenReturn(7L);
+        when(conceptReadService.getAllConcepts("otheruser", null, 7L)).thenReturn(List.of(createView(2L, "other")));
+        String etag = listETag(AUTH_HEADER);
+
+        // When & Then
+        mockMvc.perform(get("/api/concepts")
+                .header("Authorization", "Bearer other-token")
+                .header("If-None-Match", etag))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", not(etag)))
+            .andExpect(jsonPath("$[0].name").value("other"));
+    }
+
     @Test
     void shouldSearchConcepts_WhenQueryParamProvided() throws Exception {
         // Given
-        Concept c1 = createConcept(1L, USERNAME, "distributed system");
-        when(conceptService.getAllConcepts(USERNAME, "distributed")).thenReturn(Arrays.asList(c1));
+        ConceptView c1 = createView(1L, "distributed system");
+        when(conceptReadService.getAllConcepts(USERNAME, "distributed", 0L)).thenReturn(Arrays.asList(c1));
 
         // When & Then
         mockMvc.perform(get("/api/concepts")
@@ -80,6 +182,63 @@ class ConceptControllerTest {
             .andExpect(jsonPath("$[0].name").value("distributed system"));
     }
 
+    @Test
+    void shouldGetConceptPage_WhenCursorProvided() throws Exception {
+        // Given
+        Concept c3 = createConcept(3L, USERNAME, "concept3");
+        when(conceptService.getConceptPage(USERNAME, 1, "Mg"))
+            .thenReturn(new ConceptPage(Arrays.asList(c3), "Mw"));
+
+        // When & Then
+        mockMvc.perform(get("/api/concepts/page")
+                .header("Authorization", AUTH_HEADER)
+                .param("limit", "1")
+                .param("after", "Mg"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[0].name").value("concept3"))
+            .andExpect(jsonPath("$.nextCursor").value("Mw"));
+    }
+
+    @Test
+    void shouldStreamNdjsonExport_WhenValidAuthProvided() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(conceptExportService).exportConcepts(eq(USERNAME), any());
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/concepts/export")
+                .header("Authorization", AUTH_HEADER))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+            .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+    }
+
+    @Test
+    void shouldImportConcepts_WhenJsonArrayProvided() throws Exception {
+        // Given
+        ImportResult imported = new ImportResult();
+        imported.setImportedConcepts(2);
+        imported.setImportedWords(3);
+        when(conceptImportService.importConcepts(eq(USERNAME), any())).thenReturn(imported);
+
+        // When & Then
+        mockMvc.perform(post("/api/concepts/import")
+                .header("Authorization", AUTH_HEADER)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"name\":\"a\"},{\"name\":\"b\",\"words\":[]}]"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.importedConcepts").value(2))
+            .andExpect(jsonPath("$.importedWords").value(3));
+    }
+
     @Test
     void shouldCreateConcept_WhenValidDataProvided() throws Exception {
         // Given
@@ -107,8 +266,8 @@ class ConceptControllerTest {
     @Test
     void shouldGetConceptById_WhenValidIdProvided() throws Exception {
         // Given
-        Concept concept = createConcept(1L, USERNAME, "test concept");
-        when(conceptService.getConceptById(1L, USERNAME)).thenReturn(concept);
+        ConceptView concept = createView(1L, "test concept");
+        when(conceptReadService.getConceptById(1L, USERNAME, 0L)).thenReturn(concept);
 
         // When & Then
         mockMvc.perform(get("/api/concepts/1")
@@ -121,7 +280,7 @@ class ConceptControllerTest {
     @Test
     void shouldReturnNotFound_WhenConceptDoesNotExist() throws Exception {
         // Given
-        when(conceptService.getConceptById(999L, USERNAME))
+        when(conceptReadService.getConceptById(999L, USERNAME, 0L))
             .thenThrow(new ResourceNotFoundException("Concept not found with id: 999"));
 
         // When & Then
@@ -133,8 +292,8 @@ class ConceptControllerTest {
     @Test
     void shouldSearchByKeyword_WhenKeywordProvided() throws Exception {
         // Given
-        Concept c1 = createConcept(1L, USERNAME, "distributed system");
-        when(conceptService.searchConcepts(USERNAME, "distributed")).thenReturn(Arrays.asList(c1));
+        ConceptView c1 = createView(1L, "distributed system");
+        when(conceptReadService.searchConcepts(USERNAME, "distributed")).thenReturn(Arrays.asList(c1));
 
         // When & Then
         mockMvc.perform(get("/api/concepts/search")
@@ -144,6 +303,36 @@ class ConceptControllerTest {
             .andExpect(jsonPath("$[0].name").value("distributed system"));
     }
 
+    @Test
+    void shouldUseFuzzySearch_WhenModeIsFuzzy() throws Exception {
+        // Given
+        when(conceptReadService.fuzzySearch(USERNAME, "promiss")).thenReturn(Arrays.asList(createView(1L, "Promise")));
+
+        // When & Then
+        mockMvc.perform(get("/api/concepts/search")
+                .header("Authorization", AUTH_HEADER)
+                .param("keyword", "promiss")
+                .param("mode", "fuzzy"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].name").value("Promise"));
+
+        verify(conceptReadService, never()).searchConcepts(any(), any());
+    }
+
+    @Test
+    void shouldReturnIdsAndLabels_WhenSuggesting() throws Exception {
+        // Given
+        when(conceptService.suggest(USERNAME, "pro", 10)).thenReturn(List.of(new Suggestion(1L, "Promise")));
+
+        // When & Then
+        mockMvc.perform(get("/api/concepts/suggest")
+                .header("Authorization", AUTH_HEADER)
+                .param("prefix", "pro"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].conceptId").value(1))
+            .andExpect(jsonPath("$[0].label").value("Promise"));
+    }
+
     @Test
     void shouldUpdateConcept_WhenValidDataProvided() throws Exception {
         // Given
@@ -200,6 +389,17 @@ class ConceptControllerTest {
             .andExpect(status().isUnauthorized());
     }
 
+    private String listETag(String authHeader) throws Exception {
+        return mockMvc.perform(get("/api/concepts")
+                .header("Authorization", authHeader))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader("ETag");
+    }
+
+    private ConceptView createView(Long id, String name) {
+        return new ConceptView(id, USERNAME, name, null, List.of());
+    }
+
     private Concept createConcept(Long id, String username, String name) {
         Concept concept = new Concept();
         concept.setId(id);
@@ -0,0 +1,108 @@
+package com.multilang.memo.repository;
+
+import com.multilang.memo.entity.Concept;
+import com.multilang.memo.entity.Word;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// クエリキャッシュはコミット済みのデータにしか効かないため、テスト用トランザクションを使わない
+// CaffeineのCacheManagerはJVM内で共有されるので、他のテストコンテキスト（別のH2）とは領域名を分ける
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+        "spring.jpa.properties.hibernate.cache.region.factory_class=jcache",
+        "spring.jpa.properties.hibernate.javax.cache.provider=com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider",
+        "spring.jpa.properties.hibernate.javax.cache.missing_cache_strategy=create",
+        "spring.jpa.properties.hibernate.cache.auto_evict_collection_cache=true",
+        "spring.jpa.properties.hibernate.cache.region_prefix=concept-cache-test",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ConceptCacheTest {
+
+    @Autowired
+    private ConceptRepository conceptRepository;
+    @Autowired
+    private WordRepository wordRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        conceptRepository.deleteAll();
+    }
+
+    @Test
+    void shouldServeRepeatedLookupWithoutSql_WhenConceptIsCached() {
+        // Given
+        Concept saved = conceptRepository.save(createConcept("user1", "非同期処理", "async"));
+        conceptRepository.findByIdWithWords(saved.getId(), "user1");
+        Statistics statistics = statistics();
+        statistics.clear();
+
+        // When
+        Optional<Concept> found = conceptRepository.findByIdWithWords(saved.getId(), "user1");
+
+        // Then
+        assertThat(found).isPresent();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void shouldReloadWords_WhenWordAddedAfterCaching() {
+        // Given
+        Concept saved = conceptRepository.save(createConcept("user1", "非同期処理", "async"));
+        conceptRepository.findByIdWithWords(saved.getId(), "user1");
+
+        // When
+        Word word = new Word();
+        word.setWord("Promise");
+        word.setConcept(saved);
+        wordRepository.save(word);
+        Optional<Concept> found = conceptRepository.findByIdWithWords(saved.getId(), "user1");
+
+        // Then
+        assertThat(found).isPresent();
+        assertThat(found.get().getWords()).extracting(Word::getWord)
+                .containsExactlyInAnyOrder("async", "Promise");
+    }
+
+    @Test
+    void shouldNotLeakAcrossUsers_WhenConceptIsCached() {
+        // Given
+        Concept saved = conceptRepository.save(createConcept("user1", "非同期処理", "async"));
+        conceptRepository.findByIdWithWords(saved.getId(), "user1");
+
+        // When & Then
+        assertThat(conceptRepository.findByIdWithWords(saved.getId(), "user2")).isEmpty();
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private Concept createConcept(String username, String name, String wordText) {
+        Concept concept = new Concept();
+        concept.setUsername(username);
+        concept.setName(name);
+        Word word = new Word();
+        word.setWord(wordText);
+        word.setConcept(concept);
+        concept.setWords(new ArrayList<>(List.of(word)));
+        return concept;
+    }
+}
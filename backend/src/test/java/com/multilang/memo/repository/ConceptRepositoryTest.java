@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
 import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.data.domain.Limit;
 import java.util.List;
 import java.util.Optional;
 
@@ -92,21 +93,19 @@ public class ConceptRepositoryTest {
         assertThat(conceptRepository.existsById(saved.getId())).isFalse();
     }
     @Test
-    void shouldSearchByKeyword_WhenPartialMatchExists() {
+    void shouldSearchIdsByKeyword_WhenPartialMatchExists() {
         // Given
-        entityManager.persist(createConcept("user1", "distributed system"));
-        entityManager.persist(createConcept("user1", "distributed database"));
+        Concept system = entityManager.persist(createConcept("user1", "distributed system"));
+        Concept database = entityManager.persist(createConcept("user1", "distributed database"));
         entityManager.persist(createConcept("user1", "microservices"));
         entityManager.persist(createConcept("user2", "distributed computing")); // Different user
         entityManager.flush();
 
         // When
-        var results = conceptRepository.searchByKeyword("user1", "distributed");
+        List<Long> ids = conceptRepository.searchIdsByKeyword("user1", "distributed");
 
         // Then
-        assertThat(results).hasSize(2);
-        assertThat(results).extracting(Concept::getName)
-                .containsExactlyInAnyOrder("distributed system", "distributed database");
+        assertThat(ids).containsExactly(system.getId(), database.getId());
     }
 
     @Test
@@ -163,6 +162,37 @@ public class ConceptRepositoryTest {
         assertThat(concepts).isEmpty();
     }
 
+    @Test
+    void shouldFindAllByIdInWithWords_OnlyForOwner() {
+        // Given
+        Concept c1 = entityManager.persistAndFlush(createConcept("user1", "concept1"));
+        Concept c2 = entityManager.persistAndFlush(createConcept("user1", "concept2"));
+        Concept other = entityManager.persistAndFlush(createConcept("user2", "concept3"));
+
+        // When
+        List<Concept> found = conceptRepository.findAllByIdInWithWords(
+                List.of(c2.getId(), c1.getId(), other.getId()), "user1");
+
+        // Then
+        assertThat(found).extracting(Concept::getName).containsExactly("concept1", "concept2");
+    }
+
+    @Test
+    void shouldReturnNextKeysetPage_WhenAfterIdProvided() {
+        // Given
+        Concept c1 = entityManager.persistAndFlush(createConcept("user1", "concept1"));
+        Concept c2 = entityManager.persistAndFlush(createConcept("user1", "concept2"));
+        entityManager.persistAndFlush(createConcept("user2", "other"));
+        Concept c3 = entityManager.persistAndFlush(createConcept("user1", "concept3"));
+
+        // When
+        List<Concept> page = conceptRepository.findByUsernameAndIdGreaterThanOrderByIdAsc(
+                "user1", c1.getId(), Limit.of(5));
+
+        // Then
+        assertThat(page).extracting(Concept::getId).containsExactly(c2.getId(), c3.getId());
+    }
+
     private Concept createConcept(String username, String name) {
         Concept concept = new Concept();
         concept.setUsername(username);
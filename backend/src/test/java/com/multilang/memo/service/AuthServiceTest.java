@@ -0,0 +1,196 @@
+package com.multilang.memo.service;
+
+import com.multilang.memo.config.RoutingContext;
+import com.multilang.memo.config.ShardLocator;
+import com.multilang.memo.dto.AuthResponse;
+import com.multilang.memo.entity.User;
+import com.multilang.memo.exception.AuthenticationException;
+import com.multilang.memo.repository.TokenEpochRepository;
+import com.multilang.memo.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthServiceTest {
+
+    private static final String TOKEN = "token-123";
+    private static final String AUTH_HEADER = "Bearer " + TOKEN;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TokenEpochRepository tokenEpochRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private TokenExpiryWriter tokenExpiryWriter;
+    private AuthService authService;
+
+    @BeforeEach
+    void setUp() {
+        TokenCache tokenCache = new TokenCache(100, Duration.ofMinutes(1), new SimpleMeterRegistry());
+        TokenEpochService tokenEpochService = new TokenEpochService(tokenEpochRepository, Duration.ofMinutes(1));
+        ShardLocator shardLocator = new ShardLocator(new MockEnvironment());
+        tokenExpiryWriter = new TokenExpiryWriter(jdbcTemplate, shardLocator, Duration.ofHours(1), new SimpleMeterRegistry());
+        authService = new AuthService(userRepository, tokenCache, tokenEpochService, tokenExpiryWriter, shardLocator);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RoutingContext.clear();
+    }
+
+    @Test
+    void shouldHitCache_WhenSameTokenAuthenticatedTwice() {
+        // Given
+        when(userRepository.findByToken(TOKEN)).thenReturn(Optional.of(buildUser("user1", TOKEN)));
+
+        // When
+        User first = authService.authenticate(AUTH_HEADER);
+        User second = authService.authenticate(AUTH_HEADER);
+
+        // Then
+        assertThat(first.getUsername()).isEqualTo("user1");
+        assertThat(second.getUsername()).isEqualTo("user1");
+        verify(userRepository, times(1)).findByToken(TOKEN);
+    }
+
+    @Test
+    void shouldRejectToken_AfterLogout() {
+        // Given
+        User user = buildUser("user1", TOKEN);
+        when(userRepository.findByToken(TOKEN)).thenReturn(Optional.of(user));
+        authService.authenticate(AUTH_HEADER);
+
+        // When
+        authService.logout(TOKEN);
+
+        // Then
+        assertThatThrownBy(() -> authService.authenticate(AUTH_HEADER))
+            .isInstanceOf(AuthenticationException.class)
+            .hasMessageContaining("expired");
+    }
+
+    @Test
+    void shouldRejectToken_AfterInvalidateAll() {
+        // Given
+        User user = buildUser("user1", TOKEN);
+        when(userRepository.findByToken(TOKEN)).thenReturn(Optional.of(user));
+        when(tokenEpochRepository.findGenerationById(1L)).thenReturn(Optional.of(0L), Optional.of(1L));
+        when(tokenEpochRepository.incrementGeneration(1L)).thenReturn(1);
+        authService.authenticate(AUTH_HEADER);
+
+        // When
+        authService.invalidateAllTokens();
+
+        // Then: rejected although the token is still cached, without touching any user row
+        assertThatThrownBy(() -> authService.authenticate(AUTH_HEADER))
+            .isInstanceOf(AuthenticationException.class)
+            .hasMessageContaining("revoked");
+        verify(userRepository, never()).findAll();
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldRejectOnlyThatUsersToken_AfterInvalidateUserTokens() {
+        // Given
+        User user = buildUser("user1", TOKEN);
+        User other = buildUser("user2", "token-456");
+        when(userRepository.findByToken(TOKEN)).thenReturn(Optional.of(user));
+        when(userRepository.findByToken("token-456")).thenReturn(Optional.of(other));
+        when(userRepository.findByUsername("user1")).thenReturn(Optional.of(user));
+        when(userRepository.revokeTokenGeneration("user1")).thenAnswer(invocation -> {
+            user.setTokenGeneration(-1);
+            return 1;
+        });
+        authService.authenticate(AUTH_HEADER);
+
+        // When
+        authService.invalidateUserTokens("user1");
+
+        // Then: the cached entry is dropped and the stored generation is below the global one
+        assertThatThrownBy(() -> authService.authenticate(AUTH_HEADER))
+            .isInstanceOf(AuthenticationException.class)
+            .hasMessageContaining("revoked");
+        assertThat(authService.authenticate("Bearer token-456").getUsername()).isEqualTo("user2");
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldReactivateUser_WhenRegisteredAgainAfterInvalidateAll() {
+        // Given: the stored expiry is still in the future, but the token was revoked
+        User user = buildUser("user1", TOKEN);
+        when(userRepository.findByUsername("user1")).thenReturn(Optional.of(user));
+        when(tokenEpochRepository.findGenerationById(1L)).thenReturn(Optional.of(1L));
+        when(tokenEpochRepository.incrementGeneration(1L)).thenReturn(1);
+        authService.invalidateAllTokens();
+
+        // When
+        AuthResponse response = authService.register("user1");
+
+        // Then
+        assertThat(response.getToken()).isNotEqualTo(TOKEN);
+        assertThat(user.getTokenGeneration()).isEqualTo(1L);
+        verify(userRepository).save(user);
+    }
+
+    @Test
+    void shouldCoalesceExpiryExtensions_WhenVerifiedRepeatedly() {
+        // Given
+        when(userRepository.findByToken(TOKEN)).thenReturn(Optional.of(buildUser("user1", TOKEN)));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1});
+
+        // When
+        authService.verifyToken(TOKEN);
+        authService.verifyToken(TOKEN);
+        authService.verifyToken(TOKEN);
+        tokenExpiryWriter.flush();
+
+        // Then: one batched UPDATE with a single row, no entity saves
+        verify(userRepository, never()).save(any());
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), argThat((List<Object[]> rows) -> rows.size() == 1));
+        assertThat(tokenExpiryWriter.pendingCount()).isZero();
+    }
+
+    @Test
+    void shouldDropPendingExtension_WhenLoggedOut() {
+        // Given
+        when(userRepository.findByToken(TOKEN)).thenReturn(Optional.of(buildUser("user1", TOKEN)));
+        authService.verifyToken(TOKEN);
+
+        // When
+        authService.logout(TOKEN);
+        tokenExpiryWriter.flush();
+
+        // Then
+        assertThat(tokenExpiryWriter.pendingCount()).isZero();
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private User buildUser(String username, String token) {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername(username);
+        user.setToken(token);
+        user.setExpiresAt(LocalDateTime.now().plusDays(1));
+        return user;
+    }
+}
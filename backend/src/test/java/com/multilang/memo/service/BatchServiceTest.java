@@ -0,0 +1,130 @@
+package com.multilang.memo.service;
+
+import com.multilang.memo.dto.BatchOperation;
+import com.multilang.memo.dto.BatchOperation.Type;
+import com.multilang.memo.dto.BatchResponse;
+import com.multilang.memo.dto.BatchResult;
+import com.multilang.memo.entity.Concept;
+import com.multilang.memo.entity.Word;
+import com.multilang.memo.repository.ConceptRepository;
+import com.multilang.memo.repository.WordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchServiceTest {
+
+    @Mock
+    private ConceptRepository conceptRepository;
+
+    @Mock
+    private WordRepository wordRepository;
+
+    @Mock
+    private ConceptSearchIndex searchIndex;
+
+    @Mock
+    private ChangeLogService changeLog;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleTransactionStatus transaction = new SimpleTransactionStatus();
+    private BatchService batchService;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(transaction);
+        batchService = new BatchService(conceptRepository, wordRepository, searchIndex, changeLog,
+                new TransactionTemplate(transactionManager));
+    }
+
+    @Test
+    void shouldApplyAllOperations_WithOneOwnershipQueryAndOneChangeLogVersion() {
+        // Given
+        Concept concept = buildConcept(1L, "async", buildWord(10L, "Promise"), buildWord(11L, "Future"));
+        when(conceptRepository.findAllByIdInWithWords(Set.of(1L), "user1")).thenReturn(List.of(concept));
+        when(wordRepository.save(any(Word.class))).thenAnswer(invocation -> {
+            Word word = invocation.getArgument(0);
+            word.setId(12L);
+            return word;
+        });
+        when(changeLog.batchChanged(eq("user1"), anyList())).thenReturn(5L);
+        Concept rename = new Concept();
+        rename.setName("asynchrony");
+
+        // When
+        BatchResponse response = batchService.execute("user1", List.of(
+                new BatchOperation(Type.UPDATE_CONCEPT, 1L, null, rename, null),
+                new BatchOperation(Type.UPDATE_WORD, 1L, 10L, null, buildWord(null, "Promesse")),
+                new BatchOperation(Type.DELETE_WORD, 1L, 11L, null, null),
+                new BatchOperation(Type.ADD_WORD, 1L, null, null, buildWord(null, "非同期"))
+        ));
+
+        // Then
+        assertThat(response.committed()).isTrue();
+        assertThat(response.version()).isEqualTo(5L);
+        assertThat(response.results()).extracting(BatchResult::status).containsExactly(200, 200, 204, 201);
+        assertThat(concept.getName()).isEqualTo("asynchrony");
+        assertThat(concept.getWords()).extracting(Word::getWord).containsExactly("Promesse", "非同期");
+        verify(conceptRepository, times(1)).findAllByIdInWithWords(any(), any());
+        verify(changeLog, times(1)).batchChanged(eq("user1"), argThat(changes -> changes.size() == 4));
+        verify(searchIndex).put(eq("user1"), same(concept), anyLong());
+        assertThat(transaction.isRollbackOnly()).isFalse();
+    }
+
+    @Test
+    void shouldRollBackAndReportFailingOperation_WhenConceptNotOwned() {
+        // Given: concept 2 belongs to another user, so the ownership query does not return it
+        Concept concept = buildConcept(1L, "async");
+        when(conceptRepository.findAllByIdInWithWords(Set.of(1L, 2L), "user1")).thenReturn(List.of(concept));
+        Concept rename = new Concept();
+        rename.setName("asynchrony");
+
+        // When
+        BatchResponse response = batchService.execute("user1", List.of(
+                new BatchOperation(Type.UPDATE_CONCEPT, 1L, null, rename, null),
+                new BatchOperation(Type.DELETE_CONCEPT, 2L, null, null, null),
+                new BatchOperation(Type.DELETE_CONCEPT, 1L, null, null, null)
+        ));
+
+        // Then
+        assertThat(response.committed()).isFalse();
+        assertThat(response.results()).extracting(BatchResult::status).containsExactly(200, 404);
+        assertThat(transaction.isRollbackOnly()).isTrue();
+        verify(conceptRepository, never()).delete(any());
+        verifyNoInteractions(changeLog, searchIndex);
+    }
+
+    private Concept buildConcept(Long id, String name, Word... words) {
+        Concept concept = new Concept();
+        concept.setId(id);
+        concept.setUsername("user1");
+        concept.setName(name);
+        for (Word word : words) {
+            word.setConcept(concept);
+            concept.getWords().add(word);
+        }
+        return concept;
+    }
+
+    private Word buildWord(Long id, String text) {
+        Word word = new Word();
+        word.setId(id);
+        word.setWord(text);
+        return word;
+    }
+}
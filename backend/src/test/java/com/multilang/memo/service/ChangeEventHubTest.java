@@ -0,0 +1,73 @@
+package com.multilang.memo.service;
+
+import com.multilang.memo.dto.ChangeEvent;
+import com.multilang.memo.entity.ConceptChange.EntityType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChangeEventHubTest {
+
+    @Test
+    void shouldPushChangeOnlyToSameUsersStreams() {
+        // Given
+        ChangeEventHub hub = new ChangeEventHub(Runnable::run, 8, Duration.ofMinutes(1), new SimpleMeterRegistry());
+        RecordingEmitter tab1 = new RecordingEmitter();
+        RecordingEmitter tab2 = new RecordingEmitter();
+        RecordingEmitter other = new RecordingEmitter();
+        hub.register("user1", tab1);
+        hub.register("user1", tab2);
+        hub.register("user2", other);
+
+        // When
+        hub.onCommitted(committed("user1", 7L));
+
+        // Then
+        assertThat(tab1.frames).singleElement().asString().contains("event:change", "id:7", "version=7");
+        assertThat(tab2.frames).hasSize(1);
+        assertThat(other.frames).isEmpty();
+    }
+
+    @Test
+    void shouldSendResyncAndClose_WhenSubscriberFallsBehind() {
+        // Given: the drainer has not run yet, so events pile up in the buffer
+        List<Runnable> pending = new ArrayList<>();
+        Executor deferred = pending::add;
+        ChangeEventHub hub = new ChangeEventHub(deferred, 2, Duration.ofMinutes(1), new SimpleMeterRegistry());
+        RecordingEmitter slow = new RecordingEmitter();
+        hub.register("user1", slow);
+
+        // When: the writer never waits for the client
+        for (long version = 1; version <= 5; version++) {
+            hub.onCommitted(committed("user1", version));
+        }
+        pending.forEach(Runnable::run);
+
+        // Then
+        assertThat(pending).hasSize(1);
+        assertThat(slow.frames).singleElement().asString().contains("event:resync");
+        assertThat(hub.subscriberCount("user1")).isZero();
+    }
+
+    private ChangeLogService.Committed committed(String username, long version) {
+        return new ChangeLogService.Committed(username, new ChangeEvent(EntityType.CONCEPT, 1L, 1L, version, false));
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<String> frames = new ArrayList<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            StringBuilder frame = new StringBuilder();
+            builder.build().forEach(part -> frame.append(part.getData()));
+            frames.add(frame.toString());
+        }
+    }
+}
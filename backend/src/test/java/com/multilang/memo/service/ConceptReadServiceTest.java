@@ -0,0 +1,126 @@
+package com.multilang.memo.service;
+
+import com.multilang.memo.dto.ConceptView;
+import com.multilang.memo.dto.ConceptWordRow;
+import com.multilang.memo.dto.WordView;
+import com.multilang.memo.exception.ResourceNotFoundException;
+import com.multilang.memo.repository.ConceptRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConceptReadServiceTest {
+
+    @Mock
+    private ConceptRepository conceptRepository;
+
+    @Mock
+    private ConceptSearchBackend searchBackend;
+
+    @Mock
+    private ConceptSearchIndex searchIndex;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ConceptReadService conceptReadService;
+
+    @BeforeEach
+    void setUp() {
+        conceptReadService = new ConceptReadService(conceptRepository, searchBackend, searchIndex, 2,
+                transactionManager, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void shouldGroupRowsIntoConcepts_WhenListingAll() {
+        // Given: concept 2 has no words (LEFT JOIN row with null word columns)
+        when(conceptRepository.streamRowsByUsername("user1")).thenReturn(Stream.of(
+                row(1L, "非同期処理", 10L, "async"),
+                row(1L, "非同期処理", 11L, "Promise"),
+                row(2L, "microservices", null, null),
+                row(3L, "分散システム", 30L, "distributed")
+        ));
+
+        // When
+        List<ConceptView> result = conceptReadService.getAllConcepts("user1", null);
+
+        // Then
+        assertThat(result).extracting(ConceptView::id).containsExactly(1L, 2L, 3L);
+        assertThat(result).extracting(ConceptView::username).containsOnly("user1");
+        assertThat(result.get(0).words()).extracting(WordView::word).containsExactly("async", "Promise");
+        assertThat(result.get(1).words()).isEmpty();
+        assertThat(result.get(2).words()).extracting(WordView::id).containsExactly(30L);
+    }
+
+    @Test
+    void shouldNotQueryRows_WhenSearchIndexHasNoMatch() {
+        // Given
+        when(searchBackend.search("user1", "nothing")).thenReturn(List.of());
+
+        // When
+        List<ConceptView> result = conceptReadService.searchConcepts("user1", "nothing");
+
+        // Then
+        assertThat(result).isEmpty();
+        verify(conceptRepository, never()).findRowsByIdIn(anyList(), anyString());
+    }
+
+    @Test
+    void shouldKeepBackendRanking_WhenConceptsAreLoadedById() {
+        // Given: the backend ranks concept 5 above concept 2, the repository returns id order
+        when(searchBackend.search("user1", "async")).thenReturn(List.of(5L, 2L));
+        when(conceptRepository.findRowsByIdIn(List.of(5L, 2L), "user1")).thenReturn(List.of(
+                row(2L, "Promise", null, null),
+                row(5L, "非同期処理", 50L, "async")
+        ));
+
+        // When
+        List<ConceptView> result = conceptReadService.searchConcepts("user1", "async");
+
+        // Then
+        assertThat(result).extracting(ConceptView::id).containsExactly(5L, 2L);
+    }
+
+    @Test
+    void shouldThrowNotFound_WhenConceptHasNoRows() {
+        // Given
+        when(conceptRepository.findRowsById(999L, "user1")).thenReturn(List.of());
+
+        // When & Then
+        assertThatThrownBy(() -> conceptReadService.getConceptById(999L, "user1"))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("999");
+    }
+
+    @Test
+    void shouldLoadInReadOnlyTransaction_WhenReadWithDataVersion() {
+        // Given
+        when(transactionManager.getTransaction(argThat(definition -> definition.isReadOnly())))
+                .thenReturn(new SimpleTransactionStatus());
+        when(conceptRepository.findRowsById(1L, "user1")).thenReturn(List.of(row(1L, "非同期処理", 10L, "async")));
+
+        // When
+        ConceptView result = conceptReadService.getConceptById(1L, "user1", 7L);
+
+        // Then
+        assertThat(result.words()).extracting(WordView::word).containsExactly("async");
+        verify(transactionManager).commit(any());
+    }
+
+    private ConceptWordRow row(Long conceptId, String name, Long wordId, String word) {
+        return new ConceptWordRow(conceptId, name, null, wordId, word, null, null, null, wordId == null ? null : false);
+    }
+}
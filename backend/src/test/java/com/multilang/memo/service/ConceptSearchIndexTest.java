@@ -0,0 +1,236 @@
+package com.multilang.memo.service;
+
+import com.multilang.memo.dto.Suggestion;
+import com.multilang.memo.entity.Concept;
+import com.multilang.memo.entity.Word;
+import com.multilang.memo.repository.ConceptRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConceptSearchIndexTest {
+
+    @Mock
+    private ConceptRepository conceptRepository;
+
+    @Mock
+    private DataVersionService dataVersionService;
+
+    private ConceptSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex = new ConceptSearchIndex(conceptRepository, dataVersionService, 100,
+                Duration.ofMinutes(1), Duration.ofMinutes(1), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void shouldMatchNameNotesAndWords_WhenKeywordIsSubstring() {
+        // Given
+        when(conceptRepository.findAllWithWordsEagerly("user1")).thenReturn(List.of(
+                createConcept(1L, "非同期処理", "async / Promise", createWord(10L, "asynchrone")),
+                createConcept(2L, "Distributed System", null, createWord(20L, "分散システム")),
+                createConcept(3L, "microservices", "small services")
+        ));
+
+        // When & Then
+        assertThat(searchIndex.search("user1", "SYNC")).containsExactly(1L);
+        assertThat(searchIndex.search("user1", "分散")).containsExactly(2L);
+        assertThat(searchIndex.search("user1", "serv")).containsExactly(3L);
+        assertThat(searchIndex.search("user1", "s")).containsExactly(1L, 2L, 3L);
+        assertThat(searchIndex.search("user1", "")).containsExactly(1L, 2L, 3L);
+        assertThat(searchIndex.search("user1", "nothing")).isEmpty();
+    }
+
+    @Test
+    void shouldRejectCandidates_WhenGramsAreNotAdjacent() {
+        // Given: contains both "abc" and "bcd" but never "abcd"
+        when(conceptRepository.findAllWithWordsEagerly("user1")).thenReturn(List.of(
+                createConcept(1L, "abcxbcd", null)
+        ));
+
+        // When & Then
+        assertThat(searchIndex.search("user1", "abcd")).isEmpty();
+        assertThat(searchIndex.search("user1", "xbc")).containsExactly(1L);
+    }
+
+    @Test
+    void shouldReflectMutations_WhenIndexIsLoaded() {
+        // Given
+        when(conceptRepository.findAllWithWordsEagerly("user1")).thenReturn(List.of(
+                createConcept(1L, "old name", null)
+        ));
+        searchIndex.search("user1", "old");
+
+        // When
+        searchIndex.put("user1", createConcept(1L, "new name", null), 1);
+        searchIndex.putWord("user1", 1L, createWord(11L, "Promise"), 2);
+        searchIndex.put("user1", createConcept(2L, "another", null), 3);
+
+        // Then
+        assertThat(searchIndex.search("user1", "old")).isEmpty();
+        assertThat(searchIndex.search("user1", "new")).containsExactly(1L);
+        assertThat(searchIndex.search("user1", "promise")).containsExactly(1L);
+
+        // When
+        searchIndex.removeWord("user1", 1L, 11L, 4);
+        searchIndex.remove("user1", 2L, 5);
+
+        // Then
+        assertThat(searchIndex.search("user1", "promise")).isEmpty();
+        assertThat(searchIndex.search("user1", "another")).isEmpty();
+        verify(conceptRepository, times(1)).findAllWithWordsEagerly("user1");
+    }
+
+    @Test
+    void shouldIgnoreMutations_WhenUserIndexNotLoaded() {
+        // When
+        searchIndex.put("user2", createConcept(5L, "ignored", null), 1);
+
+        // Then: built from the database on first search instead
+        when(conceptRepository.findAllWithWordsEagerly("user2")).thenReturn(List.of());
+        assertThat(searchIndex.search("user2", "ignored")).isEmpty();
+    }
+
+    @Test
+    void shouldRankFuzzyMatchesByDistance_WhenKeywordIsMisspelled() {
+        // Given
+        when(conceptRepository.findAllWithWordsEagerly("user1")).thenReturn(List.of(
+                createConcept(1L, "非同期処理", null, createWord(10L, "asynchronous"), createWord(11L, "Promise")),
+                createConcept(2L, "promises in practice", null),
+                createConcept(3L, "microservices", null)
+        ));
+
+        // When & Then
+        assertThat(searchIndex.searchFuzzy("user1", "asyncronous", 2)).containsExactly(1L);
+        assertThat(searchIndex.searchFuzzy("user1", "promiss", 2)).containsExactly(1L);
+        assertThat(searchIndex.searchFuzzy("user1", "PROMISE", 2)).containsExactly(1L);
+        assertThat(searchIndex.searchFuzzy("user1", "asyncronous", 0)).isEmpty();
+        assertThat(searchIndex.searchFuzzy("user1", "kubernetes", 2)).isEmpty();
+    }
+
+    @Test
+    void shouldReflectMutationsInFuzzyIndex_WhenIndexIsLoaded() {
+        // Given
+        when(conceptRepository.findAllWithWordsEagerly("user1")).thenReturn(List.of(
+                createConcept(1L, "distributed", null)
+        ));
+        searchIndex.searchFuzzy("user1", "distributed", 2);
+
+        // When
+        searchIndex.putWord("user1", 1L, createWord(11L, "asynchrone"), 1);
+        searchIndex.put("user1", createConcept(2L, "asynchronous", null), 2);
+        searchIndex.remove("user1", 2L, 3);
+
+        // Then
+        assertThat(searchIndex.searchFuzzy("user1", "asyncrone", 2)).containsExactly(1L);
+
+        // When
+        searchIndex.removeWord("user1", 1L, 11L, 4);
+
+        // Then
+        assertThat(searchIndex.searchFuzzy("user1", "asyncrone", 2)).isEmpty();
+        assertThat(searchIndex.searchFuzzy("user1", "distribted", 2)).containsExactly(1L);
+        verify(conceptRepository, times(1)).findAllWithWordsEagerly("user1");
+    }
+
+    @Test
+    void shouldSuggestShortestLabelsFirst_WhenPrefixMatches() {
+        // Given
+        when(conceptRepository.findAllWithWordsEagerly("user1")).thenReturn(List.of(
+                createConcept(1L, "非同期処理", null, createWord(10L, "Promise"), createWord(11L, "async")),
+                createConcept(2L, "promise chain", null)
+        ));
+
+        // When & Then
+        assertThat(searchIndex.suggest("user1", "pro", 10))
+                .containsExactly(new Suggestion(1L, "Promise"), new Suggestion(2L, "promise chain"));
+        assertThat(searchIndex.suggest("user1", "非同", 10)).containsExactly(new Suggestion(1L, "非同期処理"));
+        assertThat(searchIndex.suggest("user1", "pro", 1)).hasSize(1);
+
+        // When
+        searchIndex.removeWord("user1", 1L, 10L, 1);
+        searchIndex.putWord("user1", 2L, createWord(20L, "Prolog"), 2);
+
+        // Then
+        assertThat(searchIndex.suggest("user1", "pro", 10))
+                .containsExactly(new Suggestion(2L, "Prolog"), new Suggestion(2L, "promise chain"));
+    }
+
+    @Test
+    void shouldBuildTrieFromDatabase_WhenMutationArrivedBeforeTrieWasLoaded() {
+        // Given: the n-gram index is loaded, the trie is not yet
+        when(conceptRepository.findAllWithWordsEagerly("user1")).thenReturn(List.of());
+        searchIndex.search("user1", "x");
+        searchIndex.put("user1", createConcept(5L, "ghost", null), 1);
+
+        // When: the database no longer has it when the trie is first loaded
+        List<Suggestion> suggestions = searchIndex.suggest("user1", "gh", 10);
+
+        // Then
+        assertThat(suggestions).isEmpty();
+    }
+
+    @Test
+    void shouldRebuildIndex_WhenChangeWasCommittedElsewhere() {
+        // Given: indexes built at version 0
+        when(conceptRepository.findAllWithWordsEagerly("user1")).thenReturn(
+                List.of(createConcept(1L, "old name", null)),
+                List.of(createConcept(1L, "old name", null), createConcept(2L, "remote", null)));
+        searchIndex.search("user1", "old");
+
+        // When: version 1 was written by another instance, this one applies version 2
+        searchIndex.put("user1", createConcept(3L, "local", null), 2);
+
+        // Then: the gap drops the indexes, and the next search reloads them
+        assertThat(searchIndex.search("user1", "remote")).containsExactly(2L);
+        verify(conceptRepository, times(2)).findAllWithWordsEagerly("user1");
+    }
+
+    @Test
+    void shouldRebuildIndex_WhenDatabaseVersionIsNewerAfterCheckInterval() {
+        // Given
+        searchIndex = new ConceptSearchIndex(conceptRepository, dataVersionService, 100,
+                Duration.ofMinutes(1), Duration.ZERO, new SimpleMeterRegistry());
+        when(conceptRepository.findAllWithWordsEagerly("user1")).thenReturn(
+                List.of(createConcept(1L, "old name", null)),
+                List.of(createConcept(1L, "new name", null)));
+        assertThat(searchIndex.suggest("user1", "old", 10)).hasSize(1);
+
+        // When: another instance renamed the concept
+        when(dataVersionService.currentVersion("user1")).thenReturn(1L);
+
+        // Then
+        assertThat(searchIndex.suggest("user1", "old", 10)).isEmpty();
+        assertThat(searchIndex.suggest("user1", "new", 10)).containsExactly(new Suggestion(1L, "new name"));
+        verify(conceptRepository, times(2)).findAllWithWordsEagerly("user1");
+    }
+
+    private Concept createConcept(Long id, String name, String notes, Word... words) {
+        Concept concept = new Concept();
+        concept.setId(id);
+        concept.setUsername("user1");
+        concept.setName(name);
+        concept.setNotes(notes);
+        concept.setWords(new ArrayList<>(List.of(words)));
+        return concept;
+    }
+
+    private Word createWord(Long id, String text) {
+        Word word = new Word();
+        word.setId(id);
+        word.setWord(text);
+        return word;
+    }
+}
@@ -5,9 +5,9 @@ import com.multilang.memo.entity.User;
 import com.multilang.memo.exception.DuplicateResourceException;
 import com.multilang.memo.exception.ResourceNotFoundException;
 import com.multilang.memo.repository.ConceptRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -24,9 +24,19 @@ class ConceptServiceTest {
     @Mock
     private ConceptRepository conceptRepository;
 
-    @InjectMocks
+    @Mock
+    private ConceptSearchIndex searchIndex;
+
+    @Mock
+    private ChangeLogService changeLog;
+
     private ConceptService conceptService;
 
+    @BeforeEach
+    void setUp() {
+        conceptService = new ConceptService(conceptRepository, searchIndex, changeLog);
+    }
+
     private User buildUser(String username) {
         User user = new User();
         user.setUsername(username);
@@ -107,6 +117,7 @@ class ConceptServiceTest {
         assertThat(result.getUsername()).isEqualTo("user1");
         verify(conceptRepository).save(concept);
         verify(conceptRepository).findByIdWithWords(1L, "user1");
+        verify(changeLog).conceptChanged("user1", 1L);
     }
 
     @Test
@@ -0,0 +1,135 @@
+package com.multilang.memo.service;
+
+import com.multilang.memo.entity.Concept;
+import com.multilang.memo.entity.User;
+import com.multilang.memo.entity.Word;
+import com.multilang.memo.repository.ConceptRepository;
+import com.multilang.memo.repository.WordRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Concept/Word mutations and bulk imports commit together with their change log entry
+ * (data_version bump): when the change log write fails, the entity write is rolled back as
+ * well. The in-memory search index only sees a mutation once its transaction has committed.
+ */
+@SpringBootTest
+class ConceptServiceTransactionTest {
+
+    @Autowired
+    private ConceptService conceptService;
+    @Autowired
+    private WordService wordService;
+    @Autowired
+    private ConceptRepository conceptRepository;
+    @Autowired
+    private WordRepository wordRepository;
+    @Autowired
+    private ConceptImportService importService;
+    @Autowired
+    private ConceptSearchIndex searchIndex;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockitoBean
+    private ChangeLogService changeLog;
+
+    @Test
+    void shouldRollBackConcept_WhenChangeLogWriteFails() {
+        // Given
+        when(changeLog.conceptChanged(anyString(), any()))
+                .thenThrow(new DataAccessResourceFailureException("change log unavailable"));
+
+        // When & Then
+        assertThatThrownBy(() -> conceptService.createConcept(concept("rollback"), user("tx-user1")))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+        assertThat(conceptRepository.existsByUsernameAndName("tx-user1", "rollback")).isFalse();
+    }
+
+    @Test
+    void shouldRollBackWord_WhenChangeLogWriteFails() {
+        // Given
+        Concept saved = conceptService.createConcept(concept("word-rollback"), user("tx-user2"));
+        long words = wordRepository.count();
+        when(changeLog.wordChanged(anyString(), any(), any()))
+                .thenThrow(new DataAccessResourceFailureException("change log unavailable"));
+
+        // When & Then
+        assertThatThrownBy(() -> wordService.addWord(saved.getId(), word("async"), "tx-user2"))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+        assertThat(wordRepository.count()).isEqualTo(words);
+    }
+
+    @Test
+    void shouldDeleteWord_WhenDeletedInOneTransaction() {
+        // Given
+        Concept saved = conceptService.createConcept(concept("word-delete"), user("tx-user3"));
+        Word word = wordService.addWord(saved.getId(), word("async"), "tx-user3");
+
+        // When
+        wordService.deleteWord(saved.getId(), word.getId(), "tx-user3");
+
+        // Then
+        assertThat(wordRepository.existsById(word.getId())).isFalse();
+    }
+
+    @Test
+    void shouldRollBackImport_WhenChangeLogWriteFails() {
+        // Given
+        when(changeLog.bulkChanged(anyString()))
+                .thenThrow(new DataAccessResourceFailureException("change log unavailable"));
+
+        // When & Then
+        assertThatThrownBy(() -> importService.importConcepts("tx-user5", List.of(concept("imported")).iterator()))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+        assertThat(conceptRepository.existsByUsernameAndName("tx-user5", "imported")).isFalse();
+    }
+
+    @Test
+    void shouldNotIndexConcept_WhenTransactionRollsBack() {
+        // Given: the user's index is loaded and follows committed writes
+        assertThat(searchIndex.search("tx-user4", "indexed")).isEmpty();
+        Concept committed = conceptService.createConcept(concept("indexed"), user("tx-user4"));
+        assertThat(searchIndex.search("tx-user4", "indexed")).containsExactly(committed.getId());
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            conceptService.createConcept(concept("rolled-back"), user("tx-user4"));
+            status.setRollbackOnly();
+        });
+
+        // Then
+        assertThat(searchIndex.search("tx-user4", "rolled-back")).isEmpty();
+        assertThat(conceptRepository.existsByUsernameAndName("tx-user4", "rolled-back")).isFalse();
+    }
+
+    private User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        return user;
+    }
+
+    private Concept concept(String name) {
+        Concept concept = new Concept();
+        concept.setName(name);
+        return concept;
+    }
+
+    private Word word(String text) {
+        Word word = new Word();
+        word.setWord(text);
+        return word;
+    }
+}
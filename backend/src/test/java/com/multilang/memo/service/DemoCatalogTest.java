@@ -0,0 +1,58 @@
+package com.multilang.memo.service;
+
+import com.multilang.memo.entity.Concept;
+import com.multilang.memo.entity.Word;
+import com.multilang.memo.repository.ConceptRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DemoCatalogTest {
+
+    @Mock
+    private ConceptRepository conceptRepository;
+
+    private DemoCatalog demoCatalog;
+
+    @BeforeEach
+    void setUp() {
+        demoCatalog = new DemoCatalog(conceptRepository, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void shouldSearchSnapshotWithoutDatabase_AfterRefresh() {
+        // Given
+        Concept concept = new Concept();
+        concept.setId(1L);
+        concept.setUsername("demo-user");
+        concept.setName("非同期処理");
+        Word word = new Word();
+        word.setId(10L);
+        word.setWord("asynchronous");
+        word.setConcept(concept);
+        concept.setWords(new ArrayList<>(List.of(word)));
+        when(conceptRepository.findAllWithWordsEagerly("demo-user")).thenReturn(List.of(concept));
+        demoCatalog.refresh();
+
+        // When
+        List<Concept> first = demoCatalog.search("ASYNC");
+        List<Concept> second = demoCatalog.search("async");
+
+        // Then
+        assertThat(first).extracting(Concept::getName).containsExactly("非同期処理");
+        assertThat(first.get(0).getWords().get(0).getConcept()).isNull();
+        assertThat(second).isSameAs(first);
+        assertThat(demoCatalog.search("nothing")).isEmpty();
+        verify(conceptRepository, times(1)).findAllWithWordsEagerly("demo-user");
+    }
+}
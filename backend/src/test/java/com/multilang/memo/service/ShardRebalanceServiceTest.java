@@ -0,0 +1,162 @@
+package com.multilang.memo.service;
+
+import com.multilang.memo.config.RoutingContext;
+import com.multilang.memo.config.ShardLocator;
+import com.multilang.memo.exception.DatabaseBusyException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.env.MockEnvironment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Three embedded H2 databases stand in for the shards. The ring initially covers shard-0 and
+ * shard-1; shard-2 is added by rebalance.
+ */
+class ShardRebalanceServiceTest {
+
+    private final String suffix = UUID.randomUUID().toString();
+    private final Map<String, DataSource> shards = new LinkedHashMap<>();
+    private ShardLocator shardLocator;
+    private ShardRebalanceService rebalanceService;
+    private long nextId = 1;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 3; i++) {
+            shards.put("shard-" + i, database("shard-" + i + "-" + suffix));
+        }
+        shardLocator = locator();
+        rebalanceService = new ShardRebalanceService(shards, shardLocator, Duration.ofMillis(100));
+        rebalanceService.load();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RoutingContext.clear();
+    }
+
+    @Test
+    void shouldCopyRowsWithIds_AndRouteToTargetShard_WhenUserIsMoved() {
+        // Given
+        String source = shardLocator.shardFor("alice");
+        String target = source.equals("shard-0") ? "shard-1" : "shard-0";
+        long conceptId = insertUser(source, "alice");
+
+        // When
+        ShardRebalanceService.Move move = rebalanceService.moveUser("alice", target);
+
+        // Then
+        assertThat(move.moved()).isTrue();
+        assertThat(move.rows()).isEqualTo(5);
+        assertThat(count(target, "SELECT COUNT(*) FROM words WHERE concept_id = " + conceptId)).isEqualTo(2);
+        assertThat(count(target, "SELECT COUNT(*) FROM concept_change WHERE username = 'alice'")).isEqualTo(1);
+        assertThat(count(source, "SELECT COUNT(*) FROM concept WHERE username = 'alice'")).isZero();
+        assertThat(count(source, "SELECT COUNT(*) FROM users WHERE username = 'alice'")).isZero();
+        assertThat(shardLocator.shardFor("alice")).isEqualTo(target);
+
+        // 他のインスタンスも割り当てを読み込む
+        ShardLocator other = locator();
+        new ShardRebalanceService(shards, other, Duration.ofMillis(100)).load();
+        assertThat(other.shardFor("alice")).isEqualTo(target);
+    }
+
+    @Test
+    void shouldWaitForInFlightRequests_AndRejectNewOnes_WhileUserIsMoved() {
+        // Given: aliceのリクエストが処理中
+        String source = shardLocator.shardFor("alice");
+        String target = source.equals("shard-0") ? "shard-1" : "shard-0";
+        insertUser(source, "alice");
+        shardLocator.bind("alice");
+
+        // When & Then: 処理中のリクエストが終わらなければ移動しない
+        assertThatThrownBy(() -> rebalanceService.moveUser("alice", target))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(shardLocator.shardFor("alice")).isEqualTo(source);
+        assertThat(count(source, "SELECT COUNT(*) FROM users WHERE username = 'alice'")).isEqualTo(1);
+
+        shardLocator.release("alice");
+        RoutingContext.clear();
+        shardLocator.beginMove("alice", Duration.ofMillis(100));
+        assertThatThrownBy(() -> shardLocator.bind("alice")).isInstanceOf(DatabaseBusyException.class);
+        shardLocator.endMove("alice");
+
+        assertThat(rebalanceService.moveUser("alice", target).moved()).isTrue();
+    }
+
+    @Test
+    void shouldMoveOnlyUsersWhoseShardChanges_WhenShardIsAddedToRing() {
+        // Given
+        List<String> users = IntStream.range(0, 30).mapToObj(i -> "user" + i).toList();
+        for (String user : users) {
+            insertUser(shardLocator.shardFor(user), user);
+        }
+        Map<String, String> before = new LinkedHashMap<>();
+        users.forEach(user -> before.put(user, shardLocator.shardFor(user)));
+
+        // When
+        List<ShardRebalanceService.Move> moves = rebalanceService.rebalance(List.of("shard-0", "shard-1", "shard-2"));
+
+        // Then
+        assertThat(moves).isNotEmpty().allSatisfy(move -> assertThat(move.to()).isEqualTo("shard-2"));
+        for (String user : users) {
+            String shard = shardLocator.shardFor(user);
+            assertThat(count(shard, "SELECT COUNT(*) FROM users WHERE username = '" + user + "'")).isEqualTo(1);
+            assertThat(moves.stream().anyMatch(move -> move.username().equals(user)))
+                    .isEqualTo(!shard.equals(before.get(user)));
+        }
+        assertThat(shardLocator.ring().shards()).contains("shard-2");
+        // リングと一致するので個別の割り当ては残らない
+        assertThat(count("shard-0", "SELECT COUNT(*) FROM shard_assignment")).isZero();
+    }
+
+    private ShardLocator locator() {
+        return new ShardLocator(new MockEnvironment()
+                .withProperty("db.shards.enabled", "true")
+                .withProperty("db.shards.urls", "jdbc:h2:mem:a,jdbc:h2:mem:b,jdbc:h2:mem:c")
+                .withProperty("db.shards.ring", "shard-0,shard-1"));
+    }
+
+    // insertUser : ユーザー1件 + concept 1件 + word 2件 + 変更履歴1件（IDは全シャードで一意）
+    private long insertUser(String shard, String username) {
+        JdbcTemplate jdbc = new JdbcTemplate(shards.get(shard));
+        long conceptId = nextId++;
+        jdbc.update("INSERT INTO users (id, username, token, data_version) VALUES (?, ?, ?, 1)",
+                nextId++, username, UUID.randomUUID().toString());
+        jdbc.update("INSERT INTO concept (id, username, name) VALUES (?, ?, 'concept')", conceptId, username);
+        jdbc.update("INSERT INTO words (id, concept_id, word) VALUES (?, ?, 'a'), (?, ?, 'b')",
+                nextId++, conceptId, nextId++, conceptId);
+        jdbc.update("INSERT INTO concept_change (id, username, version, entity_type, concept_id, deleted) " +
+                "VALUES (?, ?, 1, 'CONCEPT', ?, FALSE)", nextId++, username, conceptId);
+        return conceptId;
+    }
+
+    private int count(String shard, String sql) {
+        return new JdbcTemplate(shards.get(shard)).queryForObject(sql, Integer.class);
+    }
+
+    private DataSource database(String name) {
+        DriverManagerDataSource database =
+                new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(database);
+        jdbc.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, username VARCHAR(50) NOT NULL UNIQUE, " +
+                "token VARCHAR(255) NOT NULL UNIQUE, data_version BIGINT NOT NULL)");
+        jdbc.execute("CREATE TABLE concept (id BIGINT PRIMARY KEY, username VARCHAR(50) NOT NULL, name VARCHAR(255))");
+        jdbc.execute("CREATE TABLE words (id BIGINT PRIMARY KEY, concept_id BIGINT REFERENCES concept (id), word VARCHAR(255))");
+        jdbc.execute("CREATE TABLE concept_change (id BIGINT PRIMARY KEY, username VARCHAR(50) NOT NULL, " +
+                "version BIGINT NOT NULL, entity_type VARCHAR(10) NOT NULL, concept_id BIGINT, deleted BOOLEAN NOT NULL)");
+        return database;
+    }
+}
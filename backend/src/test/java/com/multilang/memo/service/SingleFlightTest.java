@@ -0,0 +1,118 @@
+package com.multilang.memo.service;
+
+import com.multilang.memo.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight<String> singleFlight = new SingleFlight<>("getAllConcepts", meterRegistry);
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final CountDownLatch loading = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldRunLoaderOnce_WhenIdenticalCallsOverlap() throws Exception {
+        // Given: 最初の呼び出しが読み込み中
+        Future<String> leader = executor.submit(() -> singleFlight.execute("user1", blockingLoader(() -> "result")));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        List<Future<String>> followers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            followers.add(executor.submit(() -> singleFlight.execute("user1", blockingLoader(() -> "other"))));
+        }
+        awaitShared(3);
+        release.countDown();
+
+        // Then
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("result");
+        for (Future<String> follower : followers) {
+            assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("result");
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(count("leader")).isEqualTo(1);
+        assertThat(count("shared")).isEqualTo(3);
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+
+    @Test
+    void shouldShareLeadersException_WithWaitingCalls() throws Exception {
+        // Given
+        Future<String> leader = executor.submit(() -> singleFlight.execute("user1",
+                blockingLoader(() -> { throw new ResourceNotFoundException("Concept not found with id: 1"); })));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        Future<String> follower = executor.submit(() -> singleFlight.execute("user1", blockingLoader(() -> "other")));
+        awaitShared(1);
+        release.countDown();
+
+        // Then
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class).hasCauseInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class).hasCauseInstanceOf(ResourceNotFoundException.class);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void shouldLoadAgain_WhenPreviousCallHasCompleted() {
+        // When
+        String first = singleFlight.execute("user1", () -> "first");
+        String second = singleFlight.execute("user1", () -> "second");
+
+        // Then: 結果は保持しない（キャッシュではない）
+        assertThat(first).isEqualTo("first");
+        assertThat(second).isEqualTo("second");
+        assertThat(count("shared")).isZero();
+    }
+
+    // blockingLoader : 読み込み開始を知らせ、releaseまで待ってから値を返す
+    private Supplier<String> blockingLoader(Supplier<String> value) {
+        return () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return value.get();
+        };
+    }
+
+    private void awaitShared(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count("shared") < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("memo.coalesce.calls").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,112 @@
+package com.multilang.memo.service;
+
+import com.multilang.memo.dto.ConceptView;
+import com.multilang.memo.dto.ConceptWordRow;
+import com.multilang.memo.dto.SyncResponse;
+import com.multilang.memo.entity.ConceptChange;
+import com.multilang.memo.entity.ConceptChange.EntityType;
+import com.multilang.memo.repository.ConceptChangeRepository;
+import com.multilang.memo.repository.ConceptRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SyncServiceTest {
+
+    @Mock
+    private ConceptChangeRepository changeRepository;
+
+    @Mock
+    private ConceptRepository conceptRepository;
+
+    @Mock
+    private ConceptReadService conceptReadService;
+
+    @Mock
+    private DataVersionService dataVersionService;
+
+    private SyncService syncService;
+
+    @BeforeEach
+    void setUp() {
+        syncService = new SyncService(changeRepository, conceptRepository, conceptReadService, dataVersionService);
+    }
+
+    @Test
+    void shouldReturnOnlyChangedConceptsAndTombstones_WhenCheckpointGiven() {
+        // Given
+        when(dataVersionService.currentVersion("user1")).thenReturn(12L);
+        when(changeRepository.findChanges("user1", 9L, 12L)).thenReturn(List.of(
+                change(10L, EntityType.WORD, 21L, 2L, true),
+                change(11L, EntityType.CONCEPT, 3L, 3L, true),
+                change(12L, EntityType.CONCEPT, 4L, 4L, false)
+        ));
+        when(conceptRepository.findRowsByIdIn(Set.of(2L, 4L), "user1")).thenReturn(List.of(
+                new ConceptWordRow(2L, "async", null, 20L, "Promise", null, null, null, false),
+                new ConceptWordRow(4L, "microservices", null, null, null, null, null, null, null)
+        ));
+
+        // When
+        SyncResponse response = syncService.changesSince("user1", 9L);
+
+        // Then
+        assertThat(response.fullResync()).isFalse();
+        assertThat(response.concepts()).extracting(ConceptView::id).containsExactly(2L, 4L);
+        assertThat(response.deletedConceptIds()).containsExactly(3L);
+        assertThat(response.deletedWordIds()).containsExactly(21L);
+        assertThat(response.checkpoint()).isEqualTo(12L);
+        verifyNoInteractions(conceptReadService);
+    }
+
+    @Test
+    void shouldReturnNothing_WhenCheckpointIsCurrent() {
+        // Given
+        when(dataVersionService.currentVersion("user1")).thenReturn(12L);
+
+        // When
+        SyncResponse response = syncService.changesSince("user1", 12L);
+
+        // Then
+        assertThat(response.concepts()).isEmpty();
+        assertThat(response.checkpoint()).isEqualTo(12L);
+        verifyNoInteractions(changeRepository, conceptRepository);
+    }
+
+    @Test
+    void shouldResyncEverything_WhenBulkChangeIsAfterCheckpoint() {
+        // Given
+        when(dataVersionService.currentVersion("user1")).thenReturn(12L);
+        when(changeRepository.findChanges("user1", 9L, 12L)).thenReturn(List.of(
+                change(12L, EntityType.ALL, null, null, false)
+        ));
+        when(conceptReadService.getAllConcepts("user1", null))
+                .thenReturn(List.of(new ConceptView(1L, "user1", "async", null, List.of())));
+
+        // When
+        SyncResponse response = syncService.changesSince("user1", 9L);
+
+        // Then
+        assertThat(response.fullResync()).isTrue();
+        assertThat(response.concepts()).hasSize(1);
+    }
+
+    private ConceptChange change(long version, EntityType type, Long entityId, Long conceptId, boolean deleted) {
+        ConceptChange change = new ConceptChange();
+        change.setUsername("user1");
+        change.setVersion(version);
+        change.setEntityType(type);
+        change.setEntityId(entityId);
+        change.setConceptId(conceptId);
+        change.setDeleted(deleted);
+        return change;
+    }
+}